@@ -0,0 +1,57 @@
+package com.dilaverdemirel.spring.outbox.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A payment event of about 1 KB JSON.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class BenchmarkPayload {
+    private static final int ITEM_COUNT = 10;
+
+    private String id;
+    private String customerId;
+    private BigDecimal amount;
+    private String currency;
+    private List<Item> items;
+
+    public static BenchmarkPayload create(int index) {
+        final var payload = new BenchmarkPayload();
+        payload.id = "payment-" + index;
+        payload.customerId = "customer-" + index % 100;
+        payload.amount = BigDecimal.valueOf(100L * ITEM_COUNT, 2);
+        payload.currency = "EUR";
+        payload.items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            payload.items.add(new Item("product-" + i, "Product name " + i, 1, BigDecimal.valueOf(100, 2)));
+        }
+        return payload;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public record Item(String productId, String productName, int quantity, BigDecimal price) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.dilaverdemirel.spring.outbox.benchmark;
+
+import org.springframework.cloud.stream.function.StreamOperations;
+import org.springframework.util.MimeType;
+
+/**
+ * Stands in for StreamBridge. It accepts every message without doing anything, so the benchmarks measure only the
+ * outbox code and the database.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class NoOpStreamOperations implements StreamOperations {
+
+    @Override
+    public boolean send(String bindingName, Object data) {
+        return true;
+    }
+
+    @Override
+    public boolean send(String bindingName, Object data, MimeType outputContentType) {
+        return true;
+    }
+
+    @Override
+    public boolean send(String bindingName, String binderName, Object data) {
+        return true;
+    }
+
+    @Override
+    public boolean send(String bindingName, String binderName, Object data, MimeType outputContentType) {
+        return true;
+    }
+}
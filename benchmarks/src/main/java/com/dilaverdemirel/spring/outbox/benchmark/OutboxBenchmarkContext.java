@@ -0,0 +1,90 @@
+package com.dilaverdemirel.spring.outbox.benchmark;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEvent;
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadSerializer;
+import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Starts the extension and gives the operations the benchmarks need to prepare the outbox table.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class OutboxBenchmarkContext implements AutoCloseable {
+    private final AnnotationConfigApplicationContext applicationContext;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public OutboxBenchmarkContext() {
+        applicationContext = new AnnotationConfigApplicationContext(OutboxBenchmarkConfiguration.class);
+        transactionTemplate = new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class));
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                applicationContext.getBean(EntityManagerFactory.class));
+    }
+
+    public OutboxMessagePublisherService getPublisherService() {
+        return applicationContext.getBean(OutboxMessagePublisherService.class);
+    }
+
+    /**
+     * Publishes the events in one transaction, like an application service does.
+     */
+    public void publishEventsInTransaction(List<OutboxMessageEvent> outboxMessageEvents) {
+        transactionTemplate.executeWithoutResult(status -> outboxMessageEvents.forEach(applicationContext::publishEvent));
+    }
+
+    public List<String> insertMessages(int messageCount, OutboxMessageStatus status) {
+        final var serializer = OutboxMessagePayloadSerializer.json(applicationContext.getBean(ObjectMapper.class));
+        final var outboxMessages = new ArrayList<OutboxMessage>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            outboxMessages.add(OutboxMessage.builder()
+                    .id(UUID.randomUUID().toString())
+                    .source("benchmark")
+                    .sourceId("source-" + i)
+                    .channel("benchmark-channel")
+                    .payload(serializer.serializeToString(BenchmarkPayload.create(i)))
+                    .messageClass(BenchmarkPayload.class.getName())
+                    .createdAt(LocalDateTime.now().minusMinutes(1))
+                    .retryCount(0)
+                    .status(status)
+                    .nextAttemptAt(LocalDateTime.now().minusMinutes(1))
+                    .build());
+        }
+        transactionTemplate.executeWithoutResult(transactionStatus ->
+                applicationContext.getBean(OutboxMessageRepository.class).insertAll(outboxMessages));
+        return outboxMessages.stream().map(OutboxMessage::getId).toList();
+    }
+
+    public void markAllAsFailed() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("update OutboxMessage as m set m.status = 'FAILED', m.retryCount = 0, m.nextAttemptAt = :now")
+                .setParameter("now", LocalDateTime.now())
+                .executeUpdate());
+    }
+
+    public void deleteAll() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("delete from OutboxMessage")
+                .executeUpdate());
+    }
+
+    @Override
+    public void close() {
+        applicationContext.close();
+    }
+}
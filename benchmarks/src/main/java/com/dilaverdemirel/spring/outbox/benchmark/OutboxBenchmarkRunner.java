@@ -0,0 +1,43 @@
+package com.dilaverdemirel.spring.outbox.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks twice with the GC profiler. The first run reports the throughput in ops/s, the second run reports
+ * the latency percentiles in microseconds. Both runs report the allocation rate. The JMH command line options, for
+ * exp. a benchmark name pattern, are passed to both runs.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public final class OutboxBenchmarkRunner {
+
+    private OutboxBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        final var commandLineOptions = new CommandLineOptions(args);
+
+        new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+package com.dilaverdemirel.spring.outbox.benchmark;
+
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the write path. Every operation is one transaction which publishes the outbox message events and commits, so
+ * it includes the insert and the after-commit publishing.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class OutboxMessageHandlerBenchmark {
+
+    @Param({"1", "10"})
+    private int messagesPerTransaction;
+
+    private OutboxBenchmarkContext outboxBenchmarkContext;
+    private List<OutboxMessageEvent> outboxMessageEvents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        outboxBenchmarkContext = new OutboxBenchmarkContext();
+        outboxMessageEvents = new ArrayList<>(messagesPerTransaction);
+        for (int i = 0; i < messagesPerTransaction; i++) {
+            outboxMessageEvents.add(OutboxMessageEvent.builder()
+                    .source("benchmark")
+                    .sourceId("source-" + i)
+                    .channel("benchmark-channel")
+                    .payload(BenchmarkPayload.create(i))
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteMessages() {
+        outboxBenchmarkContext.deleteAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        outboxBenchmarkContext.close();
+    }
+
+    @Benchmark
+    public void onOutboxMessageCreate() {
+        outboxBenchmarkContext.publishEventsInTransaction(outboxMessageEvents);
+    }
+}
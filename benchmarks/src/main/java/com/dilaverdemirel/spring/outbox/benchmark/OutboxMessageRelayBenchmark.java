@@ -0,0 +1,82 @@
+package com.dilaverdemirel.spring.outbox.benchmark;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the relay. publishById reads, sends and marks one message. publishAllFailedMessages sends all failed
+ * messages, they are marked as failed again before every operation.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class OutboxMessageRelayBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PublishByIdState {
+        private OutboxBenchmarkContext outboxBenchmarkContext;
+        private OutboxMessagePublisherService outboxMessagePublisherService;
+        private String messageId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            outboxBenchmarkContext = new OutboxBenchmarkContext();
+            outboxMessagePublisherService = outboxBenchmarkContext.getPublisherService();
+            messageId = outboxBenchmarkContext.insertMessages(1, OutboxMessageStatus.NEW).get(0);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            outboxBenchmarkContext.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PublishAllFailedMessagesState {
+        @Param({"100", "1000"})
+        private int failedMessageCount;
+
+        private OutboxBenchmarkContext outboxBenchmarkContext;
+        private OutboxMessagePublisherService outboxMessagePublisherService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            outboxBenchmarkContext = new OutboxBenchmarkContext();
+            outboxMessagePublisherService = outboxBenchmarkContext.getPublisherService();
+            outboxBenchmarkContext.insertMessages(failedMessageCount, OutboxMessageStatus.FAILED);
+        }
+
+        @Setup(Level.Invocation)
+        public void markAllAsFailed() {
+            outboxBenchmarkContext.markAllAsFailed();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            outboxBenchmarkContext.close();
+        }
+    }
+
+    @Benchmark
+    public void publishById(PublishByIdState state) {
+        state.outboxMessagePublisherService.publishById(state.messageId);
+    }
+
+    @Benchmark
+    public void publishAllFailedMessages(PublishAllFailedMessagesState state) {
+        state.outboxMessagePublisherService.publishAllFailedMessages();
+    }
+}
@@ -0,0 +1,42 @@
+package com.dilaverdemirel.spring.outbox.benchmark;
+
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JSON payload serializer writing a string with writing bytes.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PayloadSerializationBenchmark {
+    private BenchmarkPayload payload;
+    private OutboxMessagePayloadSerializer jsonSerializer;
+
+    @Setup
+    public void setUp() {
+        payload = BenchmarkPayload.create(1);
+        jsonSerializer = OutboxMessagePayloadSerializer.json(new ObjectMapper());
+    }
+
+    @Benchmark
+    public String serializeToString() {
+        return jsonSerializer.serializeToString(payload);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonSerializer.serialize(payload);
+    }
+}
@@ -0,0 +1,134 @@
+package com.dilaverdemirel.spring.outbox.circuitbreaker;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a circuit per channel. A channel circuit is opened after the configured number of consecutive send failures.
+ * While it is open, the messages of the channel are not sent just after the commit, they are left for the relay. When
+ * the open duration passes, the relay sends one message of the channel as a probe(half open). A sent probe closes the
+ * circuit, a failed probe opens it again for another open duration.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+@Component
+public class OutboxMessageCircuitBreaker {
+    private final Map<String, ChannelCircuit> circuitsByChannel = new ConcurrentHashMap<>();
+
+    @Value("${dilaverdemirel.spring.outbox.circuit-breaker.enabled:false}")
+    protected boolean enabled;
+
+    @Value("${dilaverdemirel.spring.outbox.circuit-breaker.failure-threshold:5}")
+    protected Integer failureThreshold;
+
+    @Value("${dilaverdemirel.spring.outbox.circuit-breaker.open-duration-in-millis:30000}")
+    protected Long openDurationInMillis;
+
+    /**
+     * @return true when the circuit of the channel is open or half open, so the message shouldn't be sent just after
+     * the commit
+     */
+    public boolean isOpen(String channel) {
+        if (!enabled) {
+            return false;
+        }
+        final var circuit = circuitsByChannel.get(channel);
+        return Objects.nonNull(circuit) && circuit.getState() != CircuitState.CLOSED;
+    }
+
+    /**
+     * @return false when the relay can send the message, because the circuit is closed or the message is the half open
+     * probe of the channel
+     */
+    public boolean isOpenForRelay(String channel) {
+        if (!enabled) {
+            return false;
+        }
+        final var circuit = circuitsByChannel.get(channel);
+        return Objects.nonNull(circuit) && !circuit.tryAcquirePermission(TimeUnit.MILLISECONDS.toNanos(openDurationInMillis));
+    }
+
+    public void recordSuccess(String channel) {
+        if (enabled) {
+            circuitsByChannel.computeIfAbsent(channel, ChannelCircuit::new).onSuccess();
+        }
+    }
+
+    public void recordFailure(String channel) {
+        if (enabled) {
+            circuitsByChannel.computeIfAbsent(channel, ChannelCircuit::new).onFailure(failureThreshold);
+        }
+    }
+
+    public CircuitState getState(String channel) {
+        final var circuit = circuitsByChannel.get(channel);
+        if (Objects.isNull(circuit)) {
+            return CircuitState.CLOSED;
+        }
+        return circuit.getState();
+    }
+
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final class ChannelCircuit {
+        private final String channel;
+        private CircuitState state = CircuitState.CLOSED;
+        private int consecutiveFailureCount;
+        private long openedAtInNanos;
+
+        private ChannelCircuit(String channel) {
+            this.channel = channel;
+        }
+
+        private synchronized CircuitState getState() {
+            return state;
+        }
+
+        /**
+         * A half open circuit gives a new probe permission after another open duration, so a probe which never reported
+         * back doesn't keep the circuit half open forever.
+         */
+        private synchronized boolean tryAcquirePermission(long openDurationInNanos) {
+            if (state == CircuitState.CLOSED) {
+                return true;
+            }
+
+            final var now = System.nanoTime();
+            if (now - openedAtInNanos < openDurationInNanos) {
+                return false;
+            }
+            state = CircuitState.HALF_OPEN;
+            openedAtInNanos = now;
+            log.info("Outbox message circuit of {} is half open, a probe message is being sent", channel);
+            return true;
+        }
+
+        private synchronized void onSuccess() {
+            consecutiveFailureCount = 0;
+            if (state != CircuitState.CLOSED) {
+                state = CircuitState.CLOSED;
+                log.info("Outbox message circuit of {} is closed", channel);
+            }
+        }
+
+        private synchronized void onFailure(int failureThreshold) {
+            consecutiveFailureCount++;
+            if (state == CircuitState.HALF_OPEN
+                    || (state == CircuitState.CLOSED && consecutiveFailureCount >= failureThreshold)) {
+                state = CircuitState.OPEN;
+                openedAtInNanos = System.nanoTime();
+                log.warn("Outbox message circuit of {} is open after {} consecutive failures", channel, consecutiveFailureCount);
+            }
+        }
+    }
+}
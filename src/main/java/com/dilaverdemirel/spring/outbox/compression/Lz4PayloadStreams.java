@@ -0,0 +1,28 @@
+package com.dilaverdemirel.spring.outbox.compression;
+
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Keeps the LZ4 classes out of {@link OutboxMessagePayloadCodec}, so they are loaded only when LZ4 is used.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+final class Lz4PayloadStreams {
+
+    private Lz4PayloadStreams() {
+    }
+
+    static OutputStream compressingStream(OutputStream outputStream) throws IOException {
+        return new LZ4FrameOutputStream(outputStream);
+    }
+
+    static InputStream decompressingStream(InputStream inputStream) throws IOException {
+        return new LZ4FrameInputStream(inputStream);
+    }
+}
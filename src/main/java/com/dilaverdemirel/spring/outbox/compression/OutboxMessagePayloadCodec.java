@@ -0,0 +1,105 @@
+package com.dilaverdemirel.spring.outbox.compression;
+
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compression codecs of the outbox message payload. A compressed payload starts with the marker of its codec, so
+ * the compressed and the plain payloads can be kept in the same table. LZ4 and zstd need their libraries on the
+ * classpath.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public enum OutboxMessagePayloadCodec {
+    NONE("", null) {
+        @Override
+        protected OutputStream compressingStream(OutputStream outputStream) {
+            return outputStream;
+        }
+
+        @Override
+        protected InputStream decompressingStream(InputStream inputStream) {
+            return inputStream;
+        }
+    },
+    GZIP("{gzip}", null) {
+        @Override
+        protected OutputStream compressingStream(OutputStream outputStream) throws IOException {
+            return new GZIPOutputStream(outputStream);
+        }
+
+        @Override
+        protected InputStream decompressingStream(InputStream inputStream) throws IOException {
+            return new GZIPInputStream(inputStream);
+        }
+    },
+    LZ4("{lz4}", "net.jpountz.lz4.LZ4FrameOutputStream") {
+        @Override
+        protected OutputStream compressingStream(OutputStream outputStream) throws IOException {
+            return Lz4PayloadStreams.compressingStream(outputStream);
+        }
+
+        @Override
+        protected InputStream decompressingStream(InputStream inputStream) throws IOException {
+            return Lz4PayloadStreams.decompressingStream(inputStream);
+        }
+    },
+    ZSTD("{zstd}", "com.github.luben.zstd.ZstdOutputStream") {
+        @Override
+        protected OutputStream compressingStream(OutputStream outputStream) throws IOException {
+            return ZstdPayloadStreams.compressingStream(outputStream);
+        }
+
+        @Override
+        protected InputStream decompressingStream(InputStream inputStream) throws IOException {
+            return ZstdPayloadStreams.decompressingStream(inputStream);
+        }
+    };
+
+    private final String marker;
+    private final String requiredClassName;
+
+    OutboxMessagePayloadCodec(String marker, String requiredClassName) {
+        this.marker = marker;
+        this.requiredClassName = requiredClassName;
+    }
+
+    public String getMarker() {
+        return marker;
+    }
+
+    public String getRequiredClassName() {
+        return requiredClassName;
+    }
+
+    public boolean isAvailable() {
+        return requiredClassName == null
+                || ClassUtils.isPresent(requiredClassName, OutboxMessagePayloadCodec.class.getClassLoader());
+    }
+
+    public byte[] compress(byte[] bytes) throws IOException {
+        final var byteArrayOutputStream = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (var outputStream = compressingStream(byteArrayOutputStream)) {
+            outputStream.write(bytes);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    public byte[] decompress(byte[] bytes) throws IOException {
+        try (var inputStream = decompressingStream(new ByteArrayInputStream(bytes))) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    protected abstract OutputStream compressingStream(OutputStream outputStream) throws IOException;
+
+    protected abstract InputStream decompressingStream(InputStream inputStream) throws IOException;
+}
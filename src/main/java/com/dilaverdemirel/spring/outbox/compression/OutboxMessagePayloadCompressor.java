@@ -0,0 +1,128 @@
+package com.dilaverdemirel.spring.outbox.compression;
+
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessagePayloadCompressionException;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Compresses the payloads above the size threshold with the configured codec before they are saved, and decompresses
+ * them just before they are sent. The compressed payload is kept as the codec marker followed by the Base64 of the
+ * compressed bytes, so it fits the payload column and it can't be confused with a JSON payload. A compressed binary
+ * payload is kept as the marker bytes followed by the compressed bytes.
+ * <p>
+ * Base64 makes the compressed bytes a third bigger, so a payload is kept compressed only when its compressed form is
+ * smaller than the payload. The payloads below the threshold and the payloads which don't shrink are kept as they are.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Component
+public class OutboxMessagePayloadCompressor implements InitializingBean {
+    private static final String MARKER_PREFIX = "{";
+
+    @Value("${dilaverdemirel.spring.outbox.compression.codec:NONE}")
+    protected OutboxMessagePayloadCodec codec;
+
+    @Value("${dilaverdemirel.spring.outbox.compression.threshold-in-bytes:1024}")
+    protected Integer thresholdInBytes;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!codec.isAvailable()) {
+            throw new IllegalStateException(codec + " compression needs " + codec.getRequiredClassName()
+                    + " on the classpath");
+        }
+    }
+
+    public byte[] compress(byte[] payload) {
+        if (codec == OutboxMessagePayloadCodec.NONE || Objects.isNull(payload) || payload.length < thresholdInBytes) {
+            return payload;
+        }
+
+        try {
+            final var marker = codec.getMarker().getBytes(StandardCharsets.US_ASCII);
+            final var compressedPayload = codec.compress(payload);
+            if (marker.length + compressedPayload.length >= payload.length) {
+                return payload;
+            }
+            final var markedPayload = Arrays.copyOf(marker, marker.length + compressedPayload.length);
+            System.arraycopy(compressedPayload, 0, markedPayload, marker.length, compressedPayload.length);
+            return markedPayload;
+        } catch (IOException e) {
+            throw new OutboxMessagePayloadCompressionException("Outbox message payload could not be compressed!", e);
+        }
+    }
+
+    public byte[] decompress(byte[] payload) {
+        if (Objects.isNull(payload) || payload.length == 0 || payload[0] != MARKER_PREFIX.charAt(0)) {
+            return payload;
+        }
+
+        for (OutboxMessagePayloadCodec payloadCodec : OutboxMessagePayloadCodec.values()) {
+            final var marker = payloadCodec.getMarker().getBytes(StandardCharsets.US_ASCII);
+            if (payloadCodec != OutboxMessagePayloadCodec.NONE && startsWith(payload, marker)) {
+                try {
+                    return payloadCodec.decompress(Arrays.copyOfRange(payload, marker.length, payload.length));
+                } catch (IOException e) {
+                    throw new OutboxMessagePayloadCompressionException("Outbox message payload could not be decompressed!", e);
+                }
+            }
+        }
+        return payload;
+    }
+
+    public String compress(String payload) {
+        if (codec == OutboxMessagePayloadCodec.NONE || Objects.isNull(payload)) {
+            return payload;
+        }
+
+        final var bytes = payload.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < thresholdInBytes) {
+            return payload;
+        }
+
+        try {
+            final var compressedPayload = codec.getMarker() + Base64.getEncoder().encodeToString(codec.compress(bytes));
+            if (compressedPayload.length() >= bytes.length) {
+                return payload;
+            }
+            return compressedPayload;
+        } catch (IOException e) {
+            throw new OutboxMessagePayloadCompressionException("Outbox message payload could not be compressed!", e);
+        }
+    }
+
+    public String decompress(String payload) {
+        if (Objects.isNull(payload) || !payload.startsWith(MARKER_PREFIX)) {
+            return payload;
+        }
+
+        for (OutboxMessagePayloadCodec payloadCodec : OutboxMessagePayloadCodec.values()) {
+            if (payloadCodec != OutboxMessagePayloadCodec.NONE && payload.startsWith(payloadCodec.getMarker())) {
+                return decompress(payloadCodec, payload.substring(payloadCodec.getMarker().length()));
+            }
+        }
+        return payload;
+    }
+
+    private static boolean startsWith(byte[] payload, byte[] marker) {
+        return payload.length >= marker.length
+                && Arrays.equals(payload, 0, marker.length, marker, 0, marker.length);
+    }
+
+    private String decompress(OutboxMessagePayloadCodec payloadCodec, String encodedPayload) {
+        try {
+            final var bytes = payloadCodec.decompress(Base64.getDecoder().decode(encodedPayload));
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new OutboxMessagePayloadCompressionException("Outbox message payload could not be decompressed!", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dilaverdemirel.spring.outbox.compression;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Keeps the zstd classes out of {@link OutboxMessagePayloadCodec}, so they are loaded only when zstd is used.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+final class ZstdPayloadStreams {
+
+    private ZstdPayloadStreams() {
+    }
+
+    static OutputStream compressingStream(OutputStream outputStream) throws IOException {
+        return new ZstdOutputStream(outputStream);
+    }
+
+    static InputStream decompressingStream(InputStream inputStream) throws IOException {
+        return new ZstdInputStream(inputStream);
+    }
+}
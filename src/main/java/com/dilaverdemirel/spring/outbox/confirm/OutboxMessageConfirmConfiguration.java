@@ -0,0 +1,25 @@
+package com.dilaverdemirel.spring.outbox.confirm;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.SubscribableChannel;
+
+/**
+ * Declares the channel which the binder sends the publisher confirms to. It is declared up front, because the binder
+ * creates the producer bindings of StreamBridge lazily and it would register its own channel otherwise. It is declared
+ * only in confirm mode.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Configuration
+@ConditionalOnProperty(name = "dilaverdemirel.spring.outbox.confirm.enabled", havingValue = "true")
+public class OutboxMessageConfirmConfiguration {
+
+    @Bean(name = OutboxMessageSendConfirmations.CONFIRM_ACK_CHANNEL_NAME)
+    public SubscribableChannel outboxMessageConfirmAckChannel() {
+        return new DirectChannel();
+    }
+}
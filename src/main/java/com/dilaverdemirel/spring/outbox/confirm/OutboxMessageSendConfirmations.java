@@ -0,0 +1,148 @@
+package com.dilaverdemirel.spring.outbox.confirm;
+
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessageSendException;
+import com.dilaverdemirel.spring.outbox.util.MessageUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the sends which wait for the publisher confirm of the binder. The binder is configured to send the confirms to
+ * the {@value #CONFIRM_ACK_CHANNEL_NAME} channel(confirmAckChannel of Rabbit, recordMetadataChannel of Kafka) and the
+ * failed sends to the error channel. Both messages carry the sent message, so the confirm is correlated by the send id
+ * header. Every send has its own id, so a relay retry of a message doesn't take over the confirm of a send of the same
+ * message which is still pending. A send which is not confirmed in time is failed.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+@Component
+public class OutboxMessageSendConfirmations implements MessageHandler, SmartInitializingSingleton {
+    public static final String CONFIRM_ACK_CHANNEL_NAME = "outboxMessageConfirmAckChannel";
+    private static final String ERROR_CHANNEL_NAME = "errorChannel";
+    private static final String PUBLISH_CONFIRM_HEADER_NAME = "amqp_publishConfirm";
+    private static final String PUBLISH_CONFIRM_NACK_CAUSE_HEADER_NAME = "amqp_publishConfirmNackCause";
+
+    private final Map<String, CompletableFuture<Void>> pendingConfirmationsBySendId = new ConcurrentHashMap<>();
+    private final BeanFactory beanFactory;
+
+    @Value("${dilaverdemirel.spring.outbox.confirm.enabled:false}")
+    protected boolean enabled;
+
+    @Value("${dilaverdemirel.spring.outbox.confirm.timeout-in-millis:10000}")
+    protected Long timeoutInMillis;
+
+    public OutboxMessageSendConfirmations(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            subscribe(CONFIRM_ACK_CHANNEL_NAME);
+            subscribe(ERROR_CHANNEL_NAME);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Must be called before the message is sent, so a confirm which comes back before the send returns isn't lost.
+     */
+    public CompletableFuture<Void> register(String sendId) {
+        final var confirmation = new CompletableFuture<Void>();
+        pendingConfirmationsBySendId.put(sendId, confirmation);
+        return confirmation.orTimeout(timeoutInMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, exception) -> pendingConfirmationsBySendId.remove(sendId, confirmation));
+    }
+
+    public void confirm(String sendId) {
+        final var confirmation = pendingConfirmationsBySendId.get(sendId);
+        if (Objects.nonNull(confirmation)) {
+            confirmation.complete(null);
+        }
+    }
+
+    public void reject(String sendId, Throwable cause) {
+        final var confirmation = pendingConfirmationsBySendId.get(sendId);
+        if (Objects.nonNull(confirmation)) {
+            confirmation.completeExceptionally(cause);
+        }
+    }
+
+    @Override
+    public void handleMessage(Message<?> message) {
+        if (message instanceof ErrorMessage) {
+            final var errorMessage = (ErrorMessage) message;
+            final var sendId = extractFailedSendId(errorMessage);
+            if (Objects.nonNull(sendId)) {
+                reject(sendId, errorMessage.getPayload());
+            }
+            return;
+        }
+
+        final var sendId = extractSendId(message);
+        if (Objects.isNull(sendId)) {
+            return;
+        }
+        if (Boolean.FALSE.equals(message.getHeaders().get(PUBLISH_CONFIRM_HEADER_NAME))) {
+            reject(sendId, new OutboxMessageSendException("Outbox message is nacked by the broker, "
+                    + message.getHeaders().get(PUBLISH_CONFIRM_NACK_CAUSE_HEADER_NAME)));
+        } else {
+            confirm(sendId);
+        }
+    }
+
+    int getPendingConfirmationCount() {
+        return pendingConfirmationsBySendId.size();
+    }
+
+    private void subscribe(String channelName) {
+        if (beanFactory.containsBean(channelName)
+                && beanFactory.getBean(channelName) instanceof SubscribableChannel) {
+            ((SubscribableChannel) beanFactory.getBean(channelName)).subscribe(this);
+        } else {
+            log.warn("{} channel is not found, outbox message confirms can't be received from it", channelName);
+        }
+    }
+
+    private static String extractFailedSendId(ErrorMessage errorMessage) {
+        if (errorMessage.getPayload() instanceof MessagingException) {
+            final var failedMessage = ((MessagingException) errorMessage.getPayload()).getFailedMessage();
+            if (Objects.nonNull(failedMessage)) {
+                return extractSendId(failedMessage);
+            }
+        }
+        if (Objects.nonNull(errorMessage.getOriginalMessage())) {
+            return extractSendId(errorMessage.getOriginalMessage());
+        }
+        return null;
+    }
+
+    /**
+     * The confirm message either has the headers of the sent message or it carries the sent message as its payload.
+     */
+    private static String extractSendId(Message<?> message) {
+        final var sendId = MessageUtils.extractSendId(message.getHeaders());
+        if (Objects.isNull(sendId) && message.getPayload() instanceof Message) {
+            return MessageUtils.extractSendId(((Message<?>) message.getPayload()).getHeaders());
+        }
+        return sendId;
+    }
+}
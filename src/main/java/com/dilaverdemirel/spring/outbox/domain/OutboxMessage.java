@@ -31,7 +31,7 @@ import java.time.LocalDateTime;
 @Entity
 public class OutboxMessage implements Serializable {
     @Id
-    @Column(nullable = false)
+    @Column(nullable = false, length = 36)
     private String id;
 
     @Column(nullable = false)
@@ -43,10 +43,18 @@ public class OutboxMessage implements Serializable {
     @Column(nullable = false)
     private String channel;
 
+    /**
+     * JSON payload of the message. It is empty when the payload is kept as bytes in {@link #binaryPayload}.
+     */
     @Lob
-    @Column(nullable = false)
+    @Column
     private String payload;
 
+    @Lob
+    @Column
+    @ToString.Exclude
+    private byte[] binaryPayload;
+
     @Column(length = 6, nullable = false)
     @Enumerated(EnumType.STRING)
     private OutboxMessageStatus status;
@@ -65,4 +73,23 @@ public class OutboxMessage implements Serializable {
 
     private LocalDateTime sentAt;
 
+    /**
+     * When the failed message is tried again by the relay.
+     */
+    @Column
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Key of the messages which are sent strictly in order, the aggregate of the message usually. It is empty when the
+     * message is not sequenced.
+     */
+    @Column
+    private String orderingKey;
+
+    /**
+     * Position of the message among the messages of its ordering key, it starts from 1.
+     */
+    @Column
+    private Long sequenceNumber;
+
 }
@@ -0,0 +1,37 @@
+package com.dilaverdemirel.spring.outbox.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.io.Serializable;
+
+/**
+ * The last sequence number which is given to the messages of an ordering key. It is kept apart from the messages, so
+ * the sequence numbers of a key keep increasing after its messages are deleted by the retention.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "orderingKey")
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class OutboxMessageKeySequence implements Serializable {
+    @Id
+    @Column(nullable = false)
+    private String orderingKey;
+
+    @Column(nullable = false)
+    private Long lastSequenceNumber;
+
+}
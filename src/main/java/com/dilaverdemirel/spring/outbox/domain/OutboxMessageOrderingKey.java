@@ -0,0 +1,33 @@
+package com.dilaverdemirel.spring.outbox.domain;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The key which the relay keeps the message order for. Messages with the same key are sent strictly in order, the
+ * messages with different keys may be sent in parallel. A sequenced message is always ordered by its own ordering key.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public enum OutboxMessageOrderingKey {
+    /**
+     * The aggregate of the message, source and source id together.
+     */
+    SOURCE_ID(outboxMessage -> outboxMessage.getSource() + ":" + outboxMessage.getSourceId()),
+    SOURCE(OutboxMessage::getSource),
+    CHANNEL(OutboxMessage::getChannel);
+
+    private final Function<OutboxMessage, String> keyExtractor;
+
+    OutboxMessageOrderingKey(Function<OutboxMessage, String> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    public String of(OutboxMessage outboxMessage) {
+        if (Objects.nonNull(outboxMessage.getOrderingKey())) {
+            return outboxMessage.getOrderingKey();
+        }
+        return keyExtractor.apply(outboxMessage);
+    }
+}
@@ -14,4 +14,9 @@ public class OutboxMessageEvent {
     private final String sourceId;
     private final Object payload;
     private final String channel;
+
+    /**
+     * Optional, the messages of the same ordering key get increasing sequence numbers and they are sent in order.
+     */
+    private final String orderingKey;
 }
@@ -1,9 +1,15 @@
 package com.dilaverdemirel.spring.outbox.dto;
 
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadFormat;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
 
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static com.dilaverdemirel.spring.outbox.util.StringUtils.isBlank;
+
 /**
  * @author dilaverdemirel
  * @since 17.05.2020
@@ -13,4 +19,34 @@ import lombok.ToString;
 @ToString
 public class OutboxMessageEventMetaData {
     private final String messageId;
+
+    /**
+     * Channel and payload of the committed message. They let the publisher send the message without reading it again.
+     */
+    private final String channel;
+
+    @ToString.Exclude
+    private final String payload;
+
+    @ToString.Exclude
+    private final byte[] binaryPayload;
+
+    private final OutboxMessagePayloadFormat format;
+
+    private final LocalDateTime createdAt;
+
+    private final String orderingKey;
+
+    private final Long sequenceNumber;
+
+    public boolean hasSnapshot() {
+        return !isBlank(channel) && (Objects.nonNull(payload) || Objects.nonNull(binaryPayload));
+    }
+
+    public Object getSnapshotPayload() {
+        if (Objects.nonNull(binaryPayload)) {
+            return binaryPayload;
+        }
+        return payload;
+    }
 }
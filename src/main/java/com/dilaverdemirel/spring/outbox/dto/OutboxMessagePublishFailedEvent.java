@@ -0,0 +1,27 @@
+package com.dilaverdemirel.spring.outbox.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a committed message could not be published by the in-process publish path. The message is left for
+ * the relay.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Builder
+@Getter
+@ToString
+public class OutboxMessagePublishFailedEvent {
+    private final String messageId;
+    private final String channel;
+
+    /**
+     * When the relay can try the message again. It is empty when the message could not be marked as failed.
+     */
+    private final LocalDateTime nextAttemptAt;
+}
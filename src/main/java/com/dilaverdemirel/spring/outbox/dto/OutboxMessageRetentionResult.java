@@ -0,0 +1,20 @@
+package com.dilaverdemirel.spring.outbox.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The result of a retention run. The chunked retention deletes the old messages, the partitioned storage drops the old
+ * partitions instead, so the count which doesn't belong to the run is zero.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Builder
+@Getter
+@ToString
+public class OutboxMessageRetentionResult {
+    private final long deletedMessageCount;
+    private final int droppedPartitionCount;
+}
@@ -0,0 +1,14 @@
+package com.dilaverdemirel.spring.outbox.exception;
+
+/**
+ * Thrown by the relay for a message whose channel circuit is open. The message is not sent and it is not marked, it
+ * is left as it is for a later run.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class OutboxMessageCircuitOpenException extends RuntimeException {
+    public OutboxMessageCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dilaverdemirel.spring.outbox.exception;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class OutboxMessagePayloadCompressionException extends RuntimeException {
+    public OutboxMessagePayloadCompressionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
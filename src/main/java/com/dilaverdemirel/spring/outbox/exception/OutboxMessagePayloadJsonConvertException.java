@@ -3,7 +3,10 @@ package com.dilaverdemirel.spring.outbox.exception;
 /**
  * @author dilaverdemirel
  * @since 10.05.2020
+ * @deprecated it is thrown only by the deprecated {@link com.dilaverdemirel.spring.outbox.util.JsonUtil}, the payload
+ * serializers throw {@link OutboxMessagePayloadSerializationException}.
  */
+@Deprecated
 public class OutboxMessagePayloadJsonConvertException extends RuntimeException {
     public OutboxMessagePayloadJsonConvertException(String message) {
         super(message);
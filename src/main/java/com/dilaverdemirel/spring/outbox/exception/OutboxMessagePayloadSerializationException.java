@@ -0,0 +1,15 @@
+package com.dilaverdemirel.spring.outbox.exception;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class OutboxMessagePayloadSerializationException extends RuntimeException {
+    public OutboxMessagePayloadSerializationException(String message) {
+        super(message);
+    }
+
+    public OutboxMessagePayloadSerializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.dilaverdemirel.spring.outbox.exception;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class OutboxMessageSendException extends RuntimeException {
+    public OutboxMessageSendException(String message) {
+        super(message);
+    }
+
+    public OutboxMessageSendException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,29 @@
+package com.dilaverdemirel.spring.outbox.id;
+
+/**
+ * Generates the primary key of the outbox messages. If there is a bean of this type in the application context, it is
+ * used instead of the default time ordered generator.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@FunctionalInterface
+public interface OutboxMessageIdGenerator {
+
+    String generate();
+
+    /**
+     * UUID version 7 generator. The ids are ordered by creation time, so the inserts are appended to the primary key
+     * index instead of being scattered across it.
+     */
+    static OutboxMessageIdGenerator timeOrdered() {
+        return new TimeOrderedOutboxMessageIdGenerator();
+    }
+
+    /**
+     * UUID version 4 generator, it was the only generator before the time ordered one.
+     */
+    static OutboxMessageIdGenerator random() {
+        return new RandomOutboxMessageIdGenerator();
+    }
+}
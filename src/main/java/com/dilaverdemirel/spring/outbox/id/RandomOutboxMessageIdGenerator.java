@@ -0,0 +1,15 @@
+package com.dilaverdemirel.spring.outbox.id;
+
+import java.util.UUID;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class RandomOutboxMessageIdGenerator implements OutboxMessageIdGenerator {
+
+    @Override
+    public String generate() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.dilaverdemirel.spring.outbox.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates UUID version 7 ids(RFC 9562). The first 48 bits are the unix epoch milliseconds and the next 12 bits are
+ * a counter within the millisecond, so the ids generated by the same generator are strictly increasing. Their string
+ * forms have a fixed length and they sort in the same order.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class TimeOrderedOutboxMessageIdGenerator implements OutboxMessageIdGenerator {
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_BITS_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+    private final LongSupplier clock;
+
+    public TimeOrderedOutboxMessageIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    TimeOrderedOutboxMessageIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String generate() {
+        final var currentTimestamp = clock.getAsLong() << COUNTER_BITS;
+        // When the counter of the millisecond overflows, it continues on the next millisecond to keep the order
+        final var timestampAndCounter = lastTimestampAndCounter
+                .updateAndGet(lastValue -> Math.max(currentTimestamp, lastValue + 1));
+
+        final var timestamp = timestampAndCounter >>> COUNTER_BITS;
+        final var counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+        final var mostSignificantBits = (timestamp << 16) | VERSION | counter;
+        final var leastSignificantBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_BITS_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+}
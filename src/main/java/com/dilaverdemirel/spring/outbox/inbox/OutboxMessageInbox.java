@@ -0,0 +1,263 @@
+package com.dilaverdemirel.spring.outbox.inbox;
+
+import com.dilaverdemirel.spring.outbox.util.MessageUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.dilaverdemirel.spring.outbox.util.StringUtils.isBlank;
+
+/**
+ * Consumer side of the outbox. It drops the messages which are received again because the relay sent them again. The
+ * processed message ids are kept in a bounded in-memory cache, so most duplicates are dropped without a database query.
+ * <p>
+ * The id of a message which is not in the cache is inserted to the processed_message table in the same transaction with
+ * the consumer, before the consumer is called. The primary key rejects the id of a processed message, so the duplicate is
+ * found with the insert and there is no lookup query. When the consumer fails, the transaction is rolled back with the id,
+ * and the message is processed again when it is received again. An id is added to the cache after the transaction
+ * commits.
+ * <p>
+ * The ids of a batch of messages are inserted with one JDBC batch. Only when one of them is rejected, the batch is rolled
+ * back and the ids are inserted one by one, every insert in its own savepoint, to find the duplicates.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dilaverdemirel.spring.outbox.inbox.enabled", havingValue = "true")
+public class OutboxMessageInbox implements InitializingBean {
+    private static final String INSERT_SQL = "INSERT INTO processed_message (id, processed_at) VALUES (?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM processed_message WHERE processed_at <= ?";
+
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    private final ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ProcessedOutboxMessageCache processedOutboxMessageCache;
+
+    @Value("${dilaverdemirel.spring.outbox.inbox.cache-size:10000}")
+    protected Integer cacheSize;
+
+    public OutboxMessageInbox(ObjectProvider<DataSource> dataSourceProvider,
+                              ObjectProvider<PlatformTransactionManager> transactionManagerProvider) {
+        this.dataSourceProvider = dataSourceProvider;
+        this.transactionManagerProvider = transactionManagerProvider;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        processedOutboxMessageCache = new ProcessedOutboxMessageCache(cacheSize);
+    }
+
+    /**
+     * Wraps the consumer of a Spring Cloud Stream binding. The duplicate messages are dropped without calling it.
+     */
+    public <T> Consumer<Message<T>> deduplicatingConsumer(Consumer<Message<T>> consumer) {
+        return message -> processOnce(message, messageToProcess -> {
+            consumer.accept(messageToProcess);
+            return null;
+        });
+    }
+
+    /**
+     * Wraps the function of a Spring Cloud Stream binding. The duplicate messages are dropped without calling it, and
+     * nothing is sent to the output for them.
+     */
+    public <T, R> Function<Message<T>, R> deduplicatingFunction(Function<Message<T>, R> function) {
+        return message -> processOnce(message, function);
+    }
+
+    /**
+     * Wraps a consumer of message batches. The duplicate messages are removed from the batch, and the consumer isn't
+     * called when all of them are duplicates.
+     */
+    public <T> Consumer<List<Message<T>>> deduplicatingBatchConsumer(Consumer<List<Message<T>>> consumer) {
+        return messages -> processBatchOnce(messages, consumer);
+    }
+
+    public int deleteOldProcessedMessages(LocalDateTime thresholdDate) {
+        return getJdbcTemplate().update(DELETE_SQL, Timestamp.valueOf(thresholdDate));
+    }
+
+    int getCachedIdCount() {
+        return processedOutboxMessageCache.size();
+    }
+
+    /**
+     * A message without an outbox message id is never a duplicate.
+     */
+    private <T, R> R processOnce(Message<T> message, Function<Message<T>, R> function) {
+        final var id = MessageUtils.extractOutboxMessageId(message.getHeaders());
+        if (isBlank(id)) {
+            return function.apply(message);
+        }
+        if (processedOutboxMessageCache.contains(id)) {
+            log.debug("Outbox message with {} is already processed, it is dropped", id);
+            return null;
+        }
+
+        return getTransactionTemplate().execute(status -> {
+            if (!insertProcessedId(id)) {
+                status.setRollbackOnly();
+                processedOutboxMessageCache.add(id);
+                log.debug("Outbox message with {} is already processed, it is dropped", id);
+                return null;
+            }
+
+            final var result = function.apply(message);
+            addToCacheAfterCommit(List.of(id));
+            return result;
+        });
+    }
+
+    /**
+     * The messages without an outbox message id are never duplicates, the other messages are processed in the batch
+     * once for an id.
+     */
+    private <T> void processBatchOnce(List<Message<T>> messages, Consumer<List<Message<T>>> consumer) {
+        final var batchIds = new HashSet<String>();
+        final var messagesToProcess = messages.stream()
+                .filter(message -> {
+                    final var id = MessageUtils.extractOutboxMessageId(message.getHeaders());
+                    return isBlank(id) || (!processedOutboxMessageCache.contains(id) && batchIds.add(id));
+                })
+                .collect(Collectors.toList());
+        if (messagesToProcess.isEmpty()) {
+            log.debug("All outbox messages of the batch are already processed, they are dropped");
+            return;
+        }
+
+        final Boolean processed = getTransactionTemplate().execute(status -> {
+            if (!insertProcessedIds(batchIds)) {
+                status.setRollbackOnly();
+                return false;
+            }
+            consumer.accept(messagesToProcess);
+            addToCacheAfterCommit(batchIds);
+            return true;
+        });
+        if (Boolean.TRUE.equals(processed)) {
+            return;
+        }
+
+        getTransactionTemplate().executeWithoutResult(status -> {
+            final var newMessages = messagesToProcess.stream()
+                    .filter(message -> {
+                        final var id = MessageUtils.extractOutboxMessageId(message.getHeaders());
+                        return isBlank(id) || insertProcessedIdInSavepoint(status, id);
+                    })
+                    .collect(Collectors.toList());
+            log.debug("{} of {} outbox messages of the batch are already processed, they are dropped",
+                    messagesToProcess.size() - newMessages.size(), messagesToProcess.size());
+            if (!newMessages.isEmpty()) {
+                consumer.accept(newMessages);
+            }
+            addToCacheAfterCommit(batchIds);
+        });
+    }
+
+    private void addToCacheAfterCommit(Collection<String> ids) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(processedOutboxMessageCache::add);
+            }
+        });
+    }
+
+    /**
+     * A constraint violation of a batch may not be translated to a duplicate key exception by every driver, so any
+     * integrity violation makes the ids inserted one by one.
+     */
+    private boolean insertProcessedIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return true;
+        }
+
+        final var processedAt = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            getJdbcTemplate().batchUpdate(INSERT_SQL, new ArrayList<>(ids), ids.size(), (statement, id) -> {
+                statement.setString(1, id);
+                statement.setTimestamp(2, processedAt);
+            });
+            return true;
+        } catch (DataIntegrityViolationException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * A rejected insert aborts the transaction on some databases, so it is rolled back to its savepoint.
+     */
+    private boolean insertProcessedIdInSavepoint(TransactionStatus status, String id) {
+        final var savepoint = status.createSavepoint();
+        if (insertProcessedId(id)) {
+            status.releaseSavepoint(savepoint);
+            return true;
+        }
+        status.rollbackToSavepoint(savepoint);
+        return false;
+    }
+
+    /**
+     * The insert waits for a transaction which inserts the same id at the same time, so it is rejected only by an id
+     * which is committed.
+     */
+    private boolean insertProcessedId(String id) {
+        try {
+            getJdbcTemplate().update(INSERT_SQL, id, Timestamp.valueOf(LocalDateTime.now()));
+            return true;
+        } catch (DuplicateKeyException exception) {
+            return false;
+        }
+    }
+
+    private JdbcTemplate getJdbcTemplate() {
+        if (Objects.isNull(jdbcTemplate)) {
+            final var dataSource = dataSourceProvider.getIfAvailable();
+            if (Objects.isNull(dataSource)) {
+                throw new IllegalStateException("There is no data source for the outbox message inbox");
+            }
+            jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+        return jdbcTemplate;
+    }
+
+    /**
+     * The transaction manager of the application is used, so the transaction of the consumer joins the transaction of
+     * the processed id. When there isn't one, a transaction manager of the data source is created.
+     */
+    private TransactionTemplate getTransactionTemplate() {
+        if (Objects.isNull(transactionTemplate)) {
+            transactionTemplate = new TransactionTemplate(transactionManagerProvider.getIfUnique(() ->
+                    new DataSourceTransactionManager(getJdbcTemplate().getDataSource())));
+        }
+        return transactionTemplate;
+    }
+}
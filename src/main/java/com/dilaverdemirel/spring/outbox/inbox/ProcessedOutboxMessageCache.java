@@ -0,0 +1,73 @@
+package com.dilaverdemirel.spring.outbox.inbox;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU set of the processed message ids. When it is full, the least recently checked id is evicted, and its
+ * duplicate is found by the insert to the database again.
+ * <p>
+ * A check of an access ordered map moves the id, so it needs a lock. The ids are spread to the segments by their hash and
+ * every segment has its own lock and its own share of the size, so the consumer threads rarely wait for each other. The
+ * eviction is LRU in a segment, not in the whole cache.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+final class ProcessedOutboxMessageCache {
+    private static final int MAX_SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+
+    ProcessedOutboxMessageCache(int maxSize) {
+        final var segmentCount = Math.max(1, Math.min(MAX_SEGMENT_COUNT, maxSize));
+        final var segmentMaxSize = (maxSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentMaxSize);
+        }
+    }
+
+    boolean contains(String id) {
+        return segmentOf(id).contains(id);
+    }
+
+    void add(String id) {
+        segmentOf(id).add(id);
+    }
+
+    int size() {
+        return Arrays.stream(segments).mapToInt(Segment::size).sum();
+    }
+
+    private Segment segmentOf(String id) {
+        return segments[Math.floorMod(id.hashCode(), segments.length)];
+    }
+
+    private static final class Segment {
+        private final Map<String, Boolean> processedIds;
+
+        private Segment(int maxSize) {
+            this.processedIds = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private synchronized boolean contains(String id) {
+            return Objects.nonNull(processedIds.get(id));
+        }
+
+        private synchronized void add(String id) {
+            processedIds.put(id, Boolean.TRUE);
+        }
+
+        private synchronized int size() {
+            return processedIds.size();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.dilaverdemirel.spring.outbox.listener;
+
+import com.dilaverdemirel.spring.outbox.service.FailedOutboxMessageService;
+import com.dilaverdemirel.spring.outbox.util.MessageUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the failed messages and marks them as failed together, instead of one transaction per failed message. The
+ * collected messages are marked when the batch is full, or when the window of the first collected message ends.
+ * <p>
+ * It handles the error messages of the error channel, whose exception carries the failed message, and the dead
+ * lettered messages which have the outbox message id and the exception stacktrace headers. It subscribes to the
+ * error channel when it is enabled, a dead letter listener can pass its messages to {@link #handleMessage(Message)}.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+@Component
+public class BatchingOutboxMessageErrorHandler implements MessageHandler, SmartInitializingSingleton, DisposableBean {
+    private static final String ERROR_CHANNEL_NAME = "errorChannel";
+    private static final String THREAD_NAME = "outbox-error-batch-flusher";
+
+    private final FailedOutboxMessageService failedOutboxMessageService;
+    private final BeanFactory beanFactory;
+    private final Object lock = new Object();
+    private Map<String, String> exceptionMessagesById = new LinkedHashMap<>();
+    private ScheduledExecutorService flushExecutor;
+
+    @Value("${dilaverdemirel.spring.outbox.error-channel.batch.enabled:false}")
+    protected boolean enabled;
+
+    @Value("${dilaverdemirel.spring.outbox.error-channel.batch.max-size:500}")
+    protected Integer maxSize;
+
+    @Value("${dilaverdemirel.spring.outbox.error-channel.batch.window-in-millis:200}")
+    protected Long windowInMillis;
+
+    public BatchingOutboxMessageErrorHandler(FailedOutboxMessageService failedOutboxMessageService,
+                                             BeanFactory beanFactory) {
+        this.failedOutboxMessageService = failedOutboxMessageService;
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+
+        if (beanFactory.containsBean(ERROR_CHANNEL_NAME)
+                && beanFactory.getBean(ERROR_CHANNEL_NAME) instanceof SubscribableChannel) {
+            ((SubscribableChannel) beanFactory.getBean(ERROR_CHANNEL_NAME)).subscribe(this);
+        } else {
+            log.warn("{} channel is not found, failed outbox messages can't be received from it", ERROR_CHANNEL_NAME);
+        }
+    }
+
+    /**
+     * A full batch is marked on the calling thread, so the callers slow down when the messages fail faster than they
+     * are marked.
+     */
+    @Override
+    public void handleMessage(Message<?> message) {
+        final var id = extractOutboxMessageId(message);
+        if (Objects.isNull(id)) {
+            return;
+        }
+
+        Map<String, String> fullBatch = null;
+        synchronized (lock) {
+            exceptionMessagesById.put(id, extractExceptionMessage(message));
+            if (exceptionMessagesById.size() >= maxSize) {
+                fullBatch = takeBatch();
+            } else if (exceptionMessagesById.size() == 1) {
+                getFlushExecutor().schedule(this::flush, windowInMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (Objects.nonNull(fullBatch)) {
+            markAllAsFailed(fullBatch);
+        }
+    }
+
+    /**
+     * Marks the collected messages immediately.
+     */
+    public void flush() {
+        final Map<String, String> batch;
+        synchronized (lock) {
+            batch = takeBatch();
+        }
+        markAllAsFailed(batch);
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+        synchronized (lock) {
+            if (Objects.nonNull(flushExecutor)) {
+                flushExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private Map<String, String> takeBatch() {
+        final var batch = exceptionMessagesById;
+        exceptionMessagesById = new LinkedHashMap<>();
+        return batch;
+    }
+
+    /**
+     * The messages which couldn't be marked stay as they are, the relay finds them as not sent messages.
+     */
+    private void markAllAsFailed(Map<String, String> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            failedOutboxMessageService.markAllAsFailedWithExceptionMessages(batch);
+            log.debug("{} outbox messages are marked as failed", batch.size());
+        } catch (RuntimeException exception) {
+            log.warn("{} outbox messages couldn't be marked as failed", batch.size(), exception);
+        }
+    }
+
+    private ScheduledExecutorService getFlushExecutor() {
+        if (Objects.isNull(flushExecutor)) {
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final var thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return flushExecutor;
+    }
+
+    private static String extractOutboxMessageId(Message<?> message) {
+        final var failedMessage = extractFailedMessage(message);
+        if (Objects.nonNull(failedMessage)) {
+            return MessageUtils.extractOutboxMessageId(failedMessage.getHeaders());
+        }
+        return MessageUtils.extractOutboxMessageId(message.getHeaders());
+    }
+
+    private static String extractExceptionMessage(Message<?> message) {
+        if (message instanceof ErrorMessage) {
+            return message.getPayload().toString();
+        }
+        return MessageUtils.extractExceptionStackTrace(message.getHeaders());
+    }
+
+    private static Message<?> extractFailedMessage(Message<?> message) {
+        if (!(message instanceof ErrorMessage)) {
+            return null;
+        }
+
+        final var errorMessage = (ErrorMessage) message;
+        if (errorMessage.getPayload() instanceof MessagingException
+                && Objects.nonNull(((MessagingException) errorMessage.getPayload()).getFailedMessage())) {
+            return ((MessagingException) errorMessage.getPayload()).getFailedMessage();
+        }
+        return errorMessage.getOriginalMessage();
+    }
+}
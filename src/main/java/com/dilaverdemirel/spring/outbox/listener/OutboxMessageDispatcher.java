@@ -0,0 +1,215 @@
+package com.dilaverdemirel.spring.outbox.listener;
+
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessagePublishFailedEvent;
+import com.dilaverdemirel.spring.outbox.service.FailedOutboxMessageService;
+import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches the committed outbox messages to the publisher service. By default the message is published on the
+ * committing thread. When async dispatching is enabled, the messages are put in a bounded queue which is drained by
+ * a virtual or platform thread executor, so the request latency doesn't depend on the broker. A message which could
+ * not be published is marked as failed and an {@link OutboxMessagePublishFailedEvent} wakes the relay poller up at
+ * its next attempt.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+@Component
+public class OutboxMessageDispatcher implements InitializingBean, DisposableBean {
+    private static final String THREAD_NAME_PREFIX = "outbox-dispatcher-";
+    private static final long SHUTDOWN_TIMEOUT_IN_SECONDS = 10;
+
+    private final OutboxMessagePublisherService outboxMessagePublisherService;
+    private final FailedOutboxMessageService failedOutboxMessageService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${dilaverdemirel.spring.outbox.dispatcher.async-enabled:false}")
+    protected boolean asyncEnabled;
+
+    @Value("${dilaverdemirel.spring.outbox.dispatcher.queue-capacity:10000}")
+    protected Integer queueCapacity;
+
+    @Value("${dilaverdemirel.spring.outbox.dispatcher.thread-count:4}")
+    protected Integer threadCount;
+
+    @Value("${dilaverdemirel.spring.outbox.dispatcher.thread-type:PLATFORM}")
+    protected ThreadType threadType;
+
+    @Value("${dilaverdemirel.spring.outbox.dispatcher.queue-full-policy:FALLBACK_TO_RELAY}")
+    protected QueueFullPolicy queueFullPolicy;
+
+    private ThreadPoolExecutor executor;
+
+    public OutboxMessageDispatcher(OutboxMessagePublisherService outboxMessagePublisherService,
+                                   FailedOutboxMessageService failedOutboxMessageService,
+                                   ApplicationEventPublisher applicationEventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.outboxMessagePublisherService = outboxMessagePublisherService;
+        this.failedOutboxMessageService = failedOutboxMessageService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (asyncEnabled) {
+            executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), createThreadFactory(), createRejectedExecutionHandler());
+            log.info("Outbox message async dispatcher started with {} {} threads and queue capacity {}",
+                    threadCount, threadType, queueCapacity);
+        }
+    }
+
+    public void dispatch(OutboxMessageEventMetaData outboxMessageEventMetaData) {
+        if (Objects.isNull(executor)) {
+            publish(outboxMessageEventMetaData);
+        } else {
+            executor.execute(new DispatchTask(outboxMessageEventMetaData));
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (Objects.nonNull(executor)) {
+            executor.shutdown();
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("{} outbox messages are not dispatched before shutdown, they are left for the relay",
+                        executor.shutdownNow().size());
+            }
+        }
+    }
+
+    /**
+     * The exception is not propagated, because the business transaction is already committed and the message is left
+     * for the relay. On the committing thread it would fail the caller of the committed business method.
+     */
+    private void publish(OutboxMessageEventMetaData outboxMessageEventMetaData) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxMessagePublisherService.publish(outboxMessageEventMetaData));
+        } catch (RuntimeException exception) {
+            log.error("Outbox message with {} could not be published, it is left for the relay",
+                    outboxMessageEventMetaData.getMessageId(), exception);
+            reportPublishFailure(outboxMessageEventMetaData, exception);
+        }
+    }
+
+    /**
+     * A failed message is marked as failed, so the relay tries it again after its backoff instead of waiting for the
+     * delay of the not sent messages.
+     */
+    private void reportPublishFailure(OutboxMessageEventMetaData outboxMessageEventMetaData, RuntimeException exception) {
+        final var messageId = outboxMessageEventMetaData.getMessageId();
+        LocalDateTime nextAttemptAt = null;
+        try {
+            nextAttemptAt = transactionTemplate.execute(status ->
+                    failedOutboxMessageService.markAsFailedWithExceptionMessage(messageId, exception.toString()).orElse(null));
+        } catch (RuntimeException markException) {
+            log.warn("Outbox message with {} could not be marked as failed", messageId, markException);
+        }
+
+        applicationEventPublisher.publishEvent(OutboxMessagePublishFailedEvent.builder()
+                .messageId(messageId)
+                .channel(outboxMessageEventMetaData.getChannel())
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    private ThreadFactory createThreadFactory() {
+        if (threadType == ThreadType.VIRTUAL) {
+            final var virtualThreadFactory = createVirtualThreadFactory();
+            if (Objects.nonNull(virtualThreadFactory)) {
+                return virtualThreadFactory;
+            }
+            log.warn("Virtual threads are not supported by the runtime, platform threads are used for outbox dispatcher");
+        }
+
+        final var threadNumber = new AtomicInteger();
+        final var defaultThreadFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            final var thread = defaultThreadFactory.newThread(runnable);
+            thread.setName(THREAD_NAME_PREFIX + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        // Thread.ofVirtual() is resolved reflectively, because the library is still built for Java 17
+        try {
+            final var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final var builderClass = Class.forName("java.lang.Thread$Builder");
+            final var namedBuilder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(builder, THREAD_NAME_PREFIX, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(namedBuilder);
+        } catch (ReflectiveOperationException exception) {
+            return null;
+        }
+    }
+
+    private RejectedExecutionHandler createRejectedExecutionHandler() {
+        return (runnable, threadPoolExecutor) -> {
+            final var outboxMessageEventMetaData = ((DispatchTask) runnable).outboxMessageEventMetaData;
+            if (queueFullPolicy == QueueFullPolicy.BLOCK && !threadPoolExecutor.isShutdown()) {
+                try {
+                    threadPoolExecutor.getQueue().put(runnable);
+                    return;
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            log.warn("Outbox message with {} could not be dispatched, it is left for the relay",
+                    outboxMessageEventMetaData.getMessageId());
+        };
+    }
+
+    public enum ThreadType {
+        VIRTUAL, PLATFORM
+    }
+
+    public enum QueueFullPolicy {
+        /**
+         * The message is not dispatched, it stays as NEW and it is sent by the relay later.
+         */
+        FALLBACK_TO_RELAY,
+        /**
+         * The committing thread waits until there is space in the queue.
+         */
+        BLOCK
+    }
+
+    private final class DispatchTask implements Runnable {
+        private final OutboxMessageEventMetaData outboxMessageEventMetaData;
+
+        private DispatchTask(OutboxMessageEventMetaData outboxMessageEventMetaData) {
+            this.outboxMessageEventMetaData = outboxMessageEventMetaData;
+        }
+
+        @Override
+        public void run() {
+            publish(outboxMessageEventMetaData);
+        }
+    }
+}
@@ -1,58 +1,169 @@
 package com.dilaverdemirel.spring.outbox.listener;
 
+import com.dilaverdemirel.spring.outbox.compression.OutboxMessagePayloadCompressor;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
 import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEvent;
 import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
 import com.dilaverdemirel.spring.outbox.exception.OutboxMessageValidationException;
+import com.dilaverdemirel.spring.outbox.id.OutboxMessageIdGenerator;
+import com.dilaverdemirel.spring.outbox.metrics.OutboxMessageMetrics;
 import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import static com.dilaverdemirel.spring.outbox.util.JsonUtil.convertToJson;
 import static com.dilaverdemirel.spring.outbox.util.StringUtils.isBlank;
 
 /**
  * @author dilaverdemirel
  * @since 10.05.2020
  */
+@Slf4j
 @Component
 public class OutboxMessageHandler {
     private final OutboxMessageRepository outboxMessageRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final OutboxMessageIdGenerator outboxMessageIdGenerator;
+    private final OutboxMessagePayloadCompressor outboxMessagePayloadCompressor;
+    private final OutboxMessagePayloadSerializer outboxMessagePayloadSerializer;
+    private final OutboxMessageMetrics outboxMessageMetrics;
+
+    @Value("${dilaverdemirel.spring.outbox.payload.binary-enabled:false}")
+    protected boolean binaryPayloadEnabled;
+
+    @Value("${dilaverdemirel.spring.outbox.publish.snapshot-enabled:false}")
+    protected boolean snapshotPublishEnabled;
 
     public OutboxMessageHandler(OutboxMessageRepository outboxMessageRepository,
-                                ApplicationEventPublisher applicationEventPublisher) {
+                                ApplicationEventPublisher applicationEventPublisher,
+                                ObjectProvider<OutboxMessageIdGenerator> outboxMessageIdGeneratorProvider,
+                                OutboxMessagePayloadCompressor outboxMessagePayloadCompressor,
+                                ObjectProvider<OutboxMessagePayloadSerializer> outboxMessagePayloadSerializerProvider,
+                                ObjectProvider<ObjectMapper> objectMapperProvider,
+                                OutboxMessageMetrics outboxMessageMetrics) {
         this.outboxMessageRepository = outboxMessageRepository;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.outboxMessagePayloadCompressor = outboxMessagePayloadCompressor;
+        this.outboxMessageMetrics = outboxMessageMetrics;
+        this.outboxMessageIdGenerator = outboxMessageIdGeneratorProvider.getIfAvailable(OutboxMessageIdGenerator::timeOrdered);
+        this.outboxMessagePayloadSerializer = outboxMessagePayloadSerializerProvider.getIfAvailable(() ->
+                OutboxMessagePayloadSerializer.json(objectMapperProvider.getIfAvailable(ObjectMapper::new)));
     }
 
-    @TransactionalEventListener(classes = {OutboxMessageEvent.class}, phase = TransactionPhase.BEFORE_COMMIT)
+    /**
+     * Collects the event in the current transaction. All collected events are saved with a single batch insert just
+     * before the transaction commits.
+     */
+    @EventListener(classes = {OutboxMessageEvent.class})
     public void onOutboxMessageCreate(OutboxMessageEvent outboxMessageEvent) {
         validateOutboxMessage(outboxMessageEvent);
-        final var savedOutboxMessage = saveMessage(outboxMessageEvent);
-        applicationEventPublisher.publishEvent(OutboxMessageEventMetaData.builder().messageId(savedOutboxMessage.getId()).build());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.debug("There is no active transaction, outbox message event is ignored! Source id is {}",
+                    outboxMessageEvent.getSourceId());
+            return;
+        }
+
+        PendingOutboxMessages.forCurrentTransaction(this::saveAndPublishMessages).add(outboxMessageEvent);
+    }
+
+    private void saveAndPublishMessages(List<OutboxMessageEvent> outboxMessageEvents) {
+        final var outboxMessages = new ArrayList<OutboxMessage>(outboxMessageEvents.size());
+        final var outboxMessageEventMetaDataList = new ArrayList<OutboxMessageEventMetaData>(outboxMessageEvents.size());
+        final var lastSequenceNumbersByOrderingKey = reserveSequenceNumbers(outboxMessageEvents);
+        for (OutboxMessageEvent outboxMessageEvent : outboxMessageEvents) {
+            final var outboxMessageBuilder = createMessageBuilder(outboxMessageEvent);
+            if (!isBlank(outboxMessageEvent.getOrderingKey())) {
+                outboxMessageBuilder.orderingKey(outboxMessageEvent.getOrderingKey())
+                        .sequenceNumber(lastSequenceNumbersByOrderingKey.merge(outboxMessageEvent.getOrderingKey(), 1L, Long::sum));
+            }
+            final Object serializedPayload;
+            if (binaryPayloadEnabled || outboxMessagePayloadSerializer.getFormat().isBinary()) {
+                final var payload = outboxMessagePayloadSerializer.serialize(outboxMessageEvent.getPayload());
+                outboxMessageBuilder.binaryPayload(outboxMessagePayloadCompressor.compress(payload));
+                serializedPayload = payload;
+            } else {
+                final var payload = outboxMessagePayloadSerializer.serializeToString(outboxMessageEvent.getPayload());
+                outboxMessageBuilder.payload(outboxMessagePayloadCompressor.compress(payload));
+                serializedPayload = payload;
+            }
+
+            final var outboxMessage = outboxMessageBuilder.build();
+            outboxMessages.add(outboxMessage);
+            outboxMessageEventMetaDataList.add(createMetaData(outboxMessage, serializedPayload));
+        }
+
+        final var saveStart = System.nanoTime();
+        outboxMessageRepository.insertAll(outboxMessages);
+        outboxMessageMetrics.recordSave(outboxMessages.size(), System.nanoTime() - saveStart);
+        log.debug("{} outbox messages saved", outboxMessages.size());
+
+        outboxMessageEventMetaDataList.forEach(applicationEventPublisher::publishEvent);
     }
 
-    private OutboxMessage saveMessage(OutboxMessageEvent outboxMessageEvent) {
-        final var outboxMessage = OutboxMessage.builder()
-                .id(UUID.randomUUID().toString())
+    /**
+     * The snapshot is added only when snapshot publishing is enabled. It keeps the uncompressed payload, so the message
+     * can be sent without decompression.
+     */
+    private OutboxMessageEventMetaData createMetaData(OutboxMessage outboxMessage, Object serializedPayload) {
+        final var metaDataBuilder = OutboxMessageEventMetaData.builder()
+                .messageId(outboxMessage.getId())
+                .channel(outboxMessage.getChannel())
+                .createdAt(outboxMessage.getCreatedAt());
+        if (!snapshotPublishEnabled) {
+            return metaDataBuilder.build();
+        }
+
+        metaDataBuilder.format(outboxMessagePayloadSerializer.getFormat())
+                .orderingKey(outboxMessage.getOrderingKey())
+                .sequenceNumber(outboxMessage.getSequenceNumber());
+        if (serializedPayload instanceof byte[]) {
+            metaDataBuilder.binaryPayload((byte[]) serializedPayload);
+        } else {
+            metaDataBuilder.payload((String) serializedPayload);
+        }
+        return metaDataBuilder.build();
+    }
+
+    /**
+     * The sequence numbers of all ordering keys of the transaction are reserved together, before the messages are saved.
+     */
+    private Map<String, Long> reserveSequenceNumbers(List<OutboxMessageEvent> outboxMessageEvents) {
+        final var messageCountsByOrderingKey = outboxMessageEvents.stream()
+                .map(OutboxMessageEvent::getOrderingKey)
+                .filter(orderingKey -> !isBlank(orderingKey))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        if (messageCountsByOrderingKey.isEmpty()) {
+            return new HashMap<>();
+        }
+        return new HashMap<>(outboxMessageRepository.reserveSequenceNumbers(messageCountsByOrderingKey));
+    }
+
+    private OutboxMessage.OutboxMessageBuilder createMessageBuilder(OutboxMessageEvent outboxMessageEvent) {
+        return OutboxMessage.builder()
+                .id(outboxMessageIdGenerator.generate())
                 .source(outboxMessageEvent.getSource())
                 .sourceId(outboxMessageEvent.getSourceId())
                 .channel(outboxMessageEvent.getChannel())
-                .payload(convertToJson(outboxMessageEvent.getPayload()))
                 .createdAt(LocalDateTime.now())
-                .messageClass(outboxMessageEvent.getPayload().getClass().getName())
+                .messageClass(outboxMessagePayloadSerializer.getFormat().messageClassOf(outboxMessageEvent.getPayload().getClass()))
                 .retryCount(-1)
-                .status(OutboxMessageStatus.NEW).build();
-
-        return outboxMessageRepository.save(outboxMessage);
+                .status(OutboxMessageStatus.NEW);
     }
 
     private void validateOutboxMessage(OutboxMessageEvent outboxMessageEvent) {
@@ -1,11 +1,8 @@
 package com.dilaverdemirel.spring.outbox.listener;
 
 import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
-import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
@@ -17,16 +14,15 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Component
 public class OutboxMessagePublisher {
 
-    private final OutboxMessagePublisherService outboxMessagePublisherService;
+    private final OutboxMessageDispatcher outboxMessageDispatcher;
 
-    public OutboxMessagePublisher(OutboxMessagePublisherService outboxMessagePublisherService) {
-        this.outboxMessagePublisherService = outboxMessagePublisherService;
+    public OutboxMessagePublisher(OutboxMessageDispatcher outboxMessageDispatcher) {
+        this.outboxMessageDispatcher = outboxMessageDispatcher;
     }
 
     @TransactionalEventListener(classes = {OutboxMessageEventMetaData.class}, phase = TransactionPhase.AFTER_COMMIT)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void onOutboxMessageSave(OutboxMessageEventMetaData outboxMessageEventMetaData) {
         log.debug("Outbox message is publishing, meta data is {}", outboxMessageEventMetaData);
-        outboxMessagePublisherService.publishById(outboxMessageEventMetaData.getMessageId());
+        outboxMessageDispatcher.dispatch(outboxMessageEventMetaData);
     }
 }
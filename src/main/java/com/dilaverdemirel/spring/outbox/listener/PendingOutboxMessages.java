@@ -0,0 +1,60 @@
+package com.dilaverdemirel.spring.outbox.listener;
+
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Collects the outbox message events of the current transaction and hands them over to the flush action once, just
+ * before the transaction commits.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+final class PendingOutboxMessages implements TransactionSynchronization {
+    private final List<OutboxMessageEvent> outboxMessageEvents = new ArrayList<>();
+    private final Consumer<List<OutboxMessageEvent>> flushAction;
+    private boolean flushed;
+
+    private PendingOutboxMessages(Consumer<List<OutboxMessageEvent>> flushAction) {
+        this.flushAction = flushAction;
+    }
+
+    static PendingOutboxMessages forCurrentTransaction(Consumer<List<OutboxMessageEvent>> flushAction) {
+        return findInCurrentTransaction().orElseGet(() -> {
+            final var pendingOutboxMessages = new PendingOutboxMessages(flushAction);
+            TransactionSynchronizationManager.registerSynchronization(pendingOutboxMessages);
+            return pendingOutboxMessages;
+        });
+    }
+
+    private static Optional<PendingOutboxMessages> findInCurrentTransaction() {
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingOutboxMessages.class::isInstance)
+                .map(PendingOutboxMessages.class::cast)
+                .findFirst();
+    }
+
+    void add(OutboxMessageEvent outboxMessageEvent) {
+        if (flushed) {
+            // The batch is already written, events published by later before-commit listeners are saved directly
+            flushAction.accept(List.of(outboxMessageEvent));
+        } else {
+            outboxMessageEvents.add(outboxMessageEvent);
+        }
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        flushed = true;
+        if (!outboxMessageEvents.isEmpty()) {
+            flushAction.accept(List.copyOf(outboxMessageEvents));
+            outboxMessageEvents.clear();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.dilaverdemirel.spring.outbox.metrics;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageBacklog;
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the outbox. The backlog gauges don't query the table on scrape, they read the values which are
+ * refreshed by a background thread with a single grouped query. The age of the oldest message is calculated from the
+ * cached creation date, so it keeps growing between the refreshes.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+public class MicrometerOutboxMessageMetrics implements OutboxMessageMetrics, AutoCloseable {
+    private static final String CHANNEL_TAG = "channel";
+    private static final String STATUS_TAG = "status";
+    private static final List<OutboxMessageStatus> BACKLOG_STATUSES = List.of(OutboxMessageStatus.NEW, OutboxMessageStatus.FAILED);
+
+    private final MeterRegistry meterRegistry;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final Timer saveTimer;
+    private final Counter savedCounter;
+    private final Map<String, ChannelMeters> channelMeters = new ConcurrentHashMap<>();
+    private volatile Map<OutboxMessageStatus, OutboxMessageBacklogSnapshot> backlogSnapshots = emptyBacklogSnapshots();
+    private ScheduledExecutorService backlogRefresher;
+
+    public MicrometerOutboxMessageMetrics(MeterRegistry meterRegistry, OutboxMessageRepository outboxMessageRepository) {
+        this.meterRegistry = meterRegistry;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.saveTimer = Timer.builder("outbox.message.save")
+                .description("Batch insert of the outbox messages of a transaction")
+                .register(meterRegistry);
+        this.savedCounter = Counter.builder("outbox.message.saved").register(meterRegistry);
+        BACKLOG_STATUSES.forEach(this::registerBacklogGauges);
+    }
+
+    /**
+     * Creates the metrics when there is a meter registry bean, otherwise returns {@link OutboxMessageMetrics#NOOP}.
+     */
+    static OutboxMessageMetrics create(BeanFactory beanFactory, OutboxMessageRepository outboxMessageRepository,
+                                       Duration backlogRefreshInterval) {
+        final var meterRegistry = beanFactory.getBeanProvider(MeterRegistry.class).getIfAvailable();
+        if (Objects.isNull(meterRegistry)) {
+            return OutboxMessageMetrics.NOOP;
+        }
+
+        final var outboxMessageMetrics = new MicrometerOutboxMessageMetrics(meterRegistry, outboxMessageRepository);
+        outboxMessageMetrics.startBacklogRefresher(backlogRefreshInterval);
+        return outboxMessageMetrics;
+    }
+
+    @Override
+    public void recordSave(int messageCount, long durationInNanos) {
+        saveTimer.record(durationInNanos, TimeUnit.NANOSECONDS);
+        savedCounter.increment(messageCount);
+    }
+
+    @Override
+    public void recordSend(String channel, long durationInNanos, boolean sent) {
+        final var meters = metersOf(channel);
+        meters.sendTimer.record(durationInNanos, TimeUnit.NANOSECONDS);
+        if (sent) {
+            meters.sentCounter.increment();
+        } else {
+            meters.failedCounter.increment();
+        }
+    }
+
+    @Override
+    public void recordCommitToSend(String channel, Duration latency) {
+        metersOf(channel).commitToSendTimer.record(latency);
+    }
+
+    @Override
+    public void recordRetry(String channel) {
+        metersOf(channel).retriedCounter.increment();
+    }
+
+    public void startBacklogRefresher(Duration refreshInterval) {
+        final var threadFactory = new CustomizableThreadFactory("outbox-metrics-");
+        threadFactory.setDaemon(true);
+        backlogRefresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        backlogRefresher.scheduleWithFixedDelay(this::refreshBacklog, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void refreshBacklog() {
+        try {
+            final var snapshots = emptyBacklogSnapshots();
+            for (OutboxMessageBacklog backlog : outboxMessageRepository.findBacklog()) {
+                snapshots.put(backlog.getStatus(),
+                        new OutboxMessageBacklogSnapshot(backlog.getMessageCount(), backlog.getOldestCreatedAt()));
+            }
+            backlogSnapshots = snapshots;
+        } catch (RuntimeException exception) {
+            log.warn("Outbox message backlog metrics could not be refreshed", exception);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (Objects.nonNull(backlogRefresher)) {
+            backlogRefresher.shutdownNow();
+        }
+    }
+
+    private void registerBacklogGauges(OutboxMessageStatus status) {
+        Gauge.builder("outbox.message.backlog", this, metrics -> metrics.backlogSnapshots.get(status).messageCount)
+                .description("Number of the unsent outbox messages")
+                .tag(STATUS_TAG, status.name())
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.message.oldest.age", this, TimeUnit.MILLISECONDS,
+                        metrics -> metrics.backlogSnapshots.get(status).ageInMillis())
+                .description("Age of the oldest unsent outbox message")
+                .tag(STATUS_TAG, status.name())
+                .register(meterRegistry);
+    }
+
+    private ChannelMeters metersOf(String channel) {
+        return channelMeters.computeIfAbsent(channel, key -> new ChannelMeters(meterRegistry, key));
+    }
+
+    private static Map<OutboxMessageStatus, OutboxMessageBacklogSnapshot> emptyBacklogSnapshots() {
+        final var snapshots = new EnumMap<OutboxMessageStatus, OutboxMessageBacklogSnapshot>(OutboxMessageStatus.class);
+        BACKLOG_STATUSES.forEach(status -> snapshots.put(status, new OutboxMessageBacklogSnapshot(0, null)));
+        return snapshots;
+    }
+
+    private static final class OutboxMessageBacklogSnapshot {
+        private final long messageCount;
+        private final LocalDateTime oldestCreatedAt;
+
+        private OutboxMessageBacklogSnapshot(long messageCount, LocalDateTime oldestCreatedAt) {
+            this.messageCount = messageCount;
+            this.oldestCreatedAt = oldestCreatedAt;
+        }
+
+        private long ageInMillis() {
+            if (Objects.isNull(oldestCreatedAt)) {
+                return 0;
+            }
+            return Math.max(Duration.between(oldestCreatedAt, LocalDateTime.now()).toMillis(), 0);
+        }
+    }
+
+    private static final class ChannelMeters {
+        private final Timer sendTimer;
+        private final Timer commitToSendTimer;
+        private final Counter sentCounter;
+        private final Counter failedCounter;
+        private final Counter retriedCounter;
+
+        private ChannelMeters(MeterRegistry meterRegistry, String channel) {
+            this.sendTimer = Timer.builder("outbox.message.send")
+                    .description("Duration of the send call to the binder")
+                    .tag(CHANNEL_TAG, channel)
+                    .register(meterRegistry);
+            this.commitToSendTimer = Timer.builder("outbox.message.commit.to.send")
+                    .description("Time between the creation of the message in the committing transaction and its send")
+                    .tag(CHANNEL_TAG, channel)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.sentCounter = Counter.builder("outbox.message.sent").tag(CHANNEL_TAG, channel).register(meterRegistry);
+            this.failedCounter = Counter.builder("outbox.message.failed").tag(CHANNEL_TAG, channel).register(meterRegistry);
+            this.retriedCounter = Counter.builder("outbox.message.retried").tag(CHANNEL_TAG, channel).register(meterRegistry);
+        }
+    }
+}
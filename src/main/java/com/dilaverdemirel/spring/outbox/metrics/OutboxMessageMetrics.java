@@ -0,0 +1,39 @@
+package com.dilaverdemirel.spring.outbox.metrics;
+
+import java.time.Duration;
+
+/**
+ * Records the metrics of the write path and the relay. The default methods do nothing, so {@link #NOOP} is used when
+ * Micrometer is not on the classpath or the metrics are disabled.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public interface OutboxMessageMetrics {
+    OutboxMessageMetrics NOOP = new OutboxMessageMetrics() {
+    };
+
+    /**
+     * Records the batch insert of the messages of a transaction.
+     */
+    default void recordSave(int messageCount, long durationInNanos) {
+    }
+
+    /**
+     * Records a send call to the binder and its result.
+     */
+    default void recordSend(String channel, long durationInNanos, boolean sent) {
+    }
+
+    /**
+     * Records the time between the creation of the message in the committing transaction and its send.
+     */
+    default void recordCommitToSend(String channel, Duration latency) {
+    }
+
+    /**
+     * Records a relay attempt of a failed message.
+     */
+    default void recordRetry(String channel) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.dilaverdemirel.spring.outbox.metrics;
+
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+
+/**
+ * Creates the Micrometer metrics when Micrometer is on the classpath and there is a meter registry bean. Micrometer
+ * classes are only loaded in that case.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Configuration
+public class OutboxMessageMetricsConfiguration {
+    private static final String METER_REGISTRY_CLASS_NAME = "io.micrometer.core.instrument.MeterRegistry";
+
+    @Bean
+    public OutboxMessageMetrics outboxMessageMetrics(
+            BeanFactory beanFactory,
+            OutboxMessageRepository outboxMessageRepository,
+            @Value("${dilaverdemirel.spring.outbox.metrics.enabled:true}") boolean metricsEnabled,
+            @Value("${dilaverdemirel.spring.outbox.metrics.backlog-refresh-interval-in-seconds:30}") long backlogRefreshIntervalInSeconds) {
+        if (!metricsEnabled || !ClassUtils.isPresent(METER_REGISTRY_CLASS_NAME, getClass().getClassLoader())) {
+            return OutboxMessageMetrics.NOOP;
+        }
+
+        return MicrometerOutboxMessageMetrics.create(beanFactory, outboxMessageRepository,
+                Duration.ofSeconds(backlogRefreshIntervalInSeconds));
+    }
+}
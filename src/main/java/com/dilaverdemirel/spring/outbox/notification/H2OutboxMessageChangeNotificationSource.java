@@ -0,0 +1,63 @@
+package com.dilaverdemirel.spring.outbox.notification;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT;
+
+/**
+ * Notifies the changes of an embedded H2 database with {@link H2OutboxMessageChangeTrigger}. The trigger is created
+ * when the source starts. It is useful for the local development and the tests only, because the trigger notifies
+ * the changes before they are committed.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class H2OutboxMessageChangeNotificationSource implements OutboxMessageChangeNotificationSource {
+    private static final String CREATE_TRIGGER_SQL = "CREATE TRIGGER IF NOT EXISTS " + CHANNEL_NAME
+            + " AFTER INSERT, UPDATE ON outbox_message FOR EACH ROW CALL \""
+            + H2OutboxMessageChangeTrigger.class.getName() + "\"";
+
+    private final DataSource dataSource;
+    private BiConsumer<OutboxMessageStatus, LocalDateTime> triggerListener;
+
+    @Value("${dilaverdemirel.spring.outbox.relay.not-sent-delay-in-seconds:" + QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT + "}")
+    protected Integer notSentDelayInSeconds = QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT;
+
+    public H2OutboxMessageChangeNotificationSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void start(Consumer<LocalDateTime> changeListener) {
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute(CREATE_TRIGGER_SQL);
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Outbox message change trigger could not be created", exception);
+        }
+
+        this.triggerListener = (status, changedAt) -> changeListener.accept(changeTimeOf(status, changedAt));
+        H2OutboxMessageChangeTrigger.addChangeListener(triggerListener);
+    }
+
+    @Override
+    public void stop() {
+        if (Objects.nonNull(triggerListener)) {
+            H2OutboxMessageChangeTrigger.removeChangeListener(triggerListener);
+        }
+    }
+
+    private LocalDateTime changeTimeOf(OutboxMessageStatus status, LocalDateTime changedAt) {
+        if (OutboxMessageStatus.NEW == status) {
+            return changedAt.plusSeconds(notSentDelayInSeconds);
+        }
+        return changedAt;
+    }
+}
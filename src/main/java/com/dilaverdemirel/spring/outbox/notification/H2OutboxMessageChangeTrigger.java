@@ -0,0 +1,86 @@
+package com.dilaverdemirel.spring.outbox.notification;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.BiConsumer;
+
+/**
+ * H2 row trigger of the outbox_message table. It calls the listeners in the same JVM when a new row is inserted, and
+ * with the next attempt time when a row is marked as failed. H2 has no hook for the commit, so the trigger fires when
+ * the statement runs, before the commit and even when the transaction is rolled back. It is an approximation of the
+ * PostgreSQL notifications for the tests and the local development, a notification of a rolled back row only makes
+ * the relay run once more.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class H2OutboxMessageChangeTrigger implements Trigger {
+    private static final String STATUS_COLUMN_NAME = "STATUS";
+    private static final String NEXT_ATTEMPT_AT_COLUMN_NAME = "NEXT_ATTEMPT_AT";
+    private static final Set<BiConsumer<OutboxMessageStatus, LocalDateTime>> CHANGE_LISTENERS = new CopyOnWriteArraySet<>();
+
+    private int statusColumnIndex = -1;
+    private int nextAttemptAtColumnIndex = -1;
+
+    static void addChangeListener(BiConsumer<OutboxMessageStatus, LocalDateTime> changeListener) {
+        CHANGE_LISTENERS.add(changeListener);
+    }
+
+    static void removeChangeListener(BiConsumer<OutboxMessageStatus, LocalDateTime> changeListener) {
+        CHANGE_LISTENERS.remove(changeListener);
+    }
+
+    @Override
+    public void init(Connection connection, String schemaName, String triggerName, String tableName, boolean before,
+                     int type) throws SQLException {
+        statusColumnIndex = columnIndexOf(connection, schemaName, tableName, STATUS_COLUMN_NAME);
+        nextAttemptAtColumnIndex = columnIndexOf(connection, schemaName, tableName, NEXT_ATTEMPT_AT_COLUMN_NAME);
+    }
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+        if (Objects.isNull(newRow) || statusColumnIndex < 0) {
+            return;
+        }
+
+        final var status = String.valueOf(newRow[statusColumnIndex]);
+        if (Objects.isNull(oldRow) && OutboxMessageStatus.NEW.name().equals(status)) {
+            final var insertedAt = LocalDateTime.now();
+            CHANGE_LISTENERS.forEach(changeListener -> changeListener.accept(OutboxMessageStatus.NEW, insertedAt));
+        } else if (OutboxMessageStatus.FAILED.name().equals(status)) {
+            final var nextAttemptAt = nextAttemptAtOf(newRow);
+            CHANGE_LISTENERS.forEach(changeListener -> changeListener.accept(OutboxMessageStatus.FAILED, nextAttemptAt));
+        }
+    }
+
+    /**
+     * A failed message without a next attempt can be sent again now.
+     */
+    private LocalDateTime nextAttemptAtOf(Object[] row) {
+        if (nextAttemptAtColumnIndex >= 0 && row[nextAttemptAtColumnIndex] instanceof Timestamp) {
+            return ((Timestamp) row[nextAttemptAtColumnIndex]).toLocalDateTime();
+        }
+        if (nextAttemptAtColumnIndex >= 0 && row[nextAttemptAtColumnIndex] instanceof LocalDateTime) {
+            return (LocalDateTime) row[nextAttemptAtColumnIndex];
+        }
+        return LocalDateTime.now();
+    }
+
+    private static int columnIndexOf(Connection connection, String schemaName, String tableName, String columnName)
+            throws SQLException {
+        try (var columns = connection.getMetaData().getColumns(null, schemaName, tableName, columnName)) {
+            if (columns.next()) {
+                return columns.getInt("ORDINAL_POSITION") - 1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dilaverdemirel.spring.outbox.notification;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Notifies the relay poller when a message is saved or marked as failed, so it runs when the relay can send the message
+ * instead of waiting for its poll delay. A failed message can be sent at its next attempt and a new message after the
+ * not sent delay, because it is sent by the committing instance first. When there is no notification source bean, the
+ * relay only polls.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public interface OutboxMessageChangeNotificationSource {
+    String CHANNEL_NAME = "outbox_message_changed";
+
+    /**
+     * The payload of the new message notifications. It is the same for all rows, so PostgreSQL delivers one
+     * notification for a transaction.
+     */
+    String NEW_MESSAGE_PAYLOAD = "NEW";
+
+    /**
+     * @param changeListener is called with the time when the relay can send the changed message, it should be cheap and
+     *                       it may be called more than once for a change
+     */
+    void start(Consumer<LocalDateTime> changeListener);
+
+    void stop();
+}
@@ -0,0 +1,125 @@
+package com.dilaverdemirel.spring.outbox.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT;
+import static com.dilaverdemirel.spring.outbox.util.StringUtils.isBlank;
+
+/**
+ * Listens the {@value #CHANNEL_NAME} channel with PostgreSQL LISTEN/NOTIFY. The notifications are sent by a trigger
+ * of the outbox_message table with the next attempt time of a failed message or {@value #NEW_MESSAGE_PAYLOAD} for the
+ * new messages as the payload, and they are delivered when the transaction commits. The source keeps one connection
+ * of the data source while it is running, and it reconnects when the connection is lost.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+public class PostgresOutboxMessageChangeNotificationSource implements OutboxMessageChangeNotificationSource {
+    private static final String THREAD_NAME = "outbox-relay-listener";
+    private static final int NOTIFICATION_TIMEOUT_IN_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_IN_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private volatile boolean running;
+
+    @Value("${dilaverdemirel.spring.outbox.relay.not-sent-delay-in-seconds:" + QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT + "}")
+    protected Integer notSentDelayInSeconds = QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT;
+
+    private Thread listenerThread;
+
+    public PostgresOutboxMessageChangeNotificationSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void start(Consumer<LocalDateTime> changeListener) {
+        running = true;
+        listenerThread = new Thread(() -> listen(changeListener), THREAD_NAME);
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    /**
+     * The listener thread stops after its current wait for the notifications.
+     */
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    private void listen(Consumer<LocalDateTime> changeListener) {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                execute(connection, "LISTEN " + CHANNEL_NAME);
+                try {
+                    // the changes which are committed while there was no listener are not notified
+                    changeListener.accept(LocalDateTime.now());
+                    receiveNotifications(connection.unwrap(PGConnection.class), changeListener);
+                } finally {
+                    execute(connection, "UNLISTEN " + CHANNEL_NAME);
+                }
+            } catch (SQLException exception) {
+                log.warn("Outbox message change notifications could not be received, reconnecting", exception);
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void receiveNotifications(PGConnection connection, Consumer<LocalDateTime> changeListener) throws SQLException {
+        while (running) {
+            final var notifications = connection.getNotifications(NOTIFICATION_TIMEOUT_IN_MILLIS);
+            if (Objects.nonNull(notifications)) {
+                for (final var notification : notifications) {
+                    changeListener.accept(changeTimeOf(notification.getParameter(), notSentDelayInSeconds));
+                }
+            }
+        }
+    }
+
+    /**
+     * The payload is the next_attempt_at column as text, or {@value #NEW_MESSAGE_PAYLOAD} when new messages are
+     * committed, the relay can read them after the not sent delay. A notification without a valid time makes the relay
+     * run now.
+     */
+    static LocalDateTime changeTimeOf(String payload, int notSentDelayInSeconds) {
+        if (isBlank(payload)) {
+            return LocalDateTime.now();
+        }
+        if (NEW_MESSAGE_PAYLOAD.equals(payload)) {
+            return LocalDateTime.now().plusSeconds(notSentDelayInSeconds);
+        }
+
+        try {
+            return Timestamp.valueOf(payload).toLocalDateTime();
+        } catch (IllegalArgumentException exception) {
+            return LocalDateTime.now();
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_IN_MILLIS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
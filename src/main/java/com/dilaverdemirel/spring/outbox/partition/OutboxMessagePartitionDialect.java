@@ -0,0 +1,105 @@
+package com.dilaverdemirel.spring.outbox.partition;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * The SQL of the daily range partitions of the outbox table. A partition is named with its day, for exp.
+ * outbox_message_p20261017 on PostgreSQL and p20261017 on MySQL, and it keeps the messages created on that day.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public enum OutboxMessagePartitionDialect {
+    POSTGRESQL {
+        @Override
+        public String partitionName(String tableName, LocalDate day) {
+            return tableName + "_p" + day.format(PARTITION_DAY_FORMATTER);
+        }
+
+        @Override
+        public String findPartitionNamesSql(String tableName) {
+            return "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = '" + tableName + "'";
+        }
+
+        @Override
+        public String createPartitionSql(String tableName, LocalDate day) {
+            return "CREATE TABLE IF NOT EXISTS " + partitionName(tableName, day) + " PARTITION OF " + tableName
+                    + " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+        }
+
+        @Override
+        public String dropPartitionSql(String tableName, String partitionName) {
+            return "DROP TABLE IF EXISTS " + partitionName;
+        }
+    },
+    MYSQL {
+        @Override
+        public String partitionName(String tableName, LocalDate day) {
+            return "p" + day.format(PARTITION_DAY_FORMATTER);
+        }
+
+        @Override
+        public String findPartitionNamesSql(String tableName) {
+            return "SELECT partition_name FROM information_schema.partitions WHERE table_schema = DATABASE() "
+                    + "AND table_name = '" + tableName + "' AND partition_name IS NOT NULL";
+        }
+
+        @Override
+        public String createPartitionSql(String tableName, LocalDate day) {
+            return "ALTER TABLE " + tableName + " ADD PARTITION (PARTITION " + partitionName(tableName, day)
+                    + " VALUES LESS THAN (TO_DAYS('" + day.plusDays(1) + "')))";
+        }
+
+        @Override
+        public String dropPartitionSql(String tableName, String partitionName) {
+            return "ALTER TABLE " + tableName + " DROP PARTITION " + partitionName;
+        }
+    };
+
+    private static final DateTimeFormatter PARTITION_DAY_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int PARTITION_DAY_LENGTH = 8;
+
+    /**
+     * Returns the dialect of the name, or empty when the database doesn't support table partitioning, for exp. H2.
+     */
+    public static Optional<OutboxMessagePartitionDialect> of(String name) {
+        for (OutboxMessagePartitionDialect dialect : values()) {
+            if (dialect.name().equalsIgnoreCase(name)) {
+                return Optional.of(dialect);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public abstract String partitionName(String tableName, LocalDate day);
+
+    public abstract String findPartitionNamesSql(String tableName);
+
+    public abstract String createPartitionSql(String tableName, LocalDate day);
+
+    public abstract String dropPartitionSql(String tableName, String partitionName);
+
+    /**
+     * Returns the day of the partition, or empty when the partition isn't a daily partition of the extension.
+     */
+    public Optional<LocalDate> partitionDay(String tableName, String partitionName) {
+        if (partitionName.length() < PARTITION_DAY_LENGTH) {
+            return Optional.empty();
+        }
+
+        try {
+            final var day = LocalDate.parse(partitionName.substring(partitionName.length() - PARTITION_DAY_LENGTH),
+                    PARTITION_DAY_FORMATTER);
+            if (partitionName.equalsIgnoreCase(partitionName(tableName, day))) {
+                return Optional.of(day);
+            }
+            return Optional.empty();
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.dilaverdemirel.spring.outbox.partition;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Manages the daily partitions of the outbox table when partitioned storage is enabled. The partitions of the next
+ * days are created in advance, and the old messages are removed by dropping the partitions whose whole day is older
+ * than the threshold, so the retention doesn't delete any row.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+@Component
+public class OutboxMessagePartitionManager implements InitializingBean {
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_]+");
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${dilaverdemirel.spring.outbox.partitioning.enabled:false}")
+    protected boolean enabled;
+
+    @Value("${dilaverdemirel.spring.outbox.partitioning.dialect:POSTGRESQL}")
+    protected String dialectName;
+
+    @Value("${dilaverdemirel.spring.outbox.partitioning.table-name:outbox_message}")
+    protected String tableName;
+
+    @Value("${dilaverdemirel.spring.outbox.partitioning.days-ahead:7}")
+    protected Integer daysAhead;
+
+    /**
+     * It is empty when partitioning is disabled, or when the database doesn't support it.
+     */
+    private Optional<OutboxMessagePartitionDialect> dialect = Optional.empty();
+
+    public OutboxMessagePartitionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+
+        if (!TABLE_NAME_PATTERN.matcher(tableName).matches()) {
+            throw new IllegalArgumentException("Outbox table name is not valid for partitioning, the name is " + tableName);
+        }
+
+        dialect = OutboxMessagePartitionDialect.of(dialectName);
+        if (dialect.isEmpty()) {
+            log.info("{} doesn't support table partitioning, old outbox messages are deleted in chunks", dialectName);
+        }
+    }
+
+    public boolean isPartitionDropEnabled() {
+        return enabled && dialect.isPresent();
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        if (!isPartitionDropEnabled()) {
+            return;
+        }
+
+        try {
+            createFuturePartitions();
+        } catch (RuntimeException e) {
+            log.warn("Outbox table partitions could not be created on startup, they are created on the next maintenance", e);
+        }
+    }
+
+    /**
+     * Creates the missing partitions from today to the configured days ahead.
+     *
+     * @return the number of created partitions
+     */
+    public int createFuturePartitions() {
+        if (!isPartitionDropEnabled()) {
+            return 0;
+        }
+
+        final var partitionDialect = dialect.get();
+        final var partitionNames = new HashSet<String>();
+        findPartitionNames().forEach(partitionName -> partitionNames.add(partitionName.toLowerCase()));
+
+        var createdPartitionCount = 0;
+        final var today = LocalDate.now();
+        for (var day = today; !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+            if (!partitionNames.contains(partitionDialect.partitionName(tableName, day).toLowerCase())) {
+                executeStatement(partitionDialect.createPartitionSql(tableName, day));
+                log.info("Outbox table partition {} created", partitionDialect.partitionName(tableName, day));
+                createdPartitionCount++;
+            }
+        }
+        return createdPartitionCount;
+    }
+
+    /**
+     * Drops the partitions which keep only the messages created before the threshold date. The partition of the
+     * threshold day is kept until the whole day expires.
+     *
+     * @return the number of dropped partitions
+     */
+    public int dropPartitionsOlderThan(LocalDateTime thresholdDate) {
+        var droppedPartitionCount = 0;
+        if (!isPartitionDropEnabled()) {
+            return 0;
+        }
+
+        final var partitionDialect = dialect.get();
+        for (String partitionName : findPartitionNames()) {
+            final var partitionDay = partitionDialect.partitionDay(tableName, partitionName);
+            if (partitionDay.isPresent() && !partitionDay.get().plusDays(1).atStartOfDay().isAfter(thresholdDate)) {
+                executeStatement(partitionDialect.dropPartitionSql(tableName, partitionName));
+                log.info("Outbox table partition {} dropped", partitionName);
+                droppedPartitionCount++;
+            }
+        }
+        return droppedPartitionCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> findPartitionNames() {
+        return transactionTemplate.execute(status ->
+                (List<String>) entityManager.createNativeQuery(dialect.get().findPartitionNamesSql(tableName)).getResultList());
+    }
+
+    private void executeStatement(String sql) {
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery(sql).executeUpdate());
+    }
+}
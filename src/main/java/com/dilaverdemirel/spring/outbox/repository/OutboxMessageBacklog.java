@@ -0,0 +1,19 @@
+package com.dilaverdemirel.spring.outbox.repository;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The unsent messages of a status.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public interface OutboxMessageBacklog {
+    OutboxMessageStatus getStatus();
+
+    long getMessageCount();
+
+    LocalDateTime getOldestCreatedAt();
+}
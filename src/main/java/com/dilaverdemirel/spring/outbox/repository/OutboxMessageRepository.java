@@ -2,28 +2,153 @@ package com.dilaverdemirel.spring.outbox.repository;
 
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * @author dilaverdemirel
  * @since 10.05.2020
  */
 @Repository
-public interface OutboxMessageRepository extends CrudRepository<OutboxMessage, String> {
+public interface OutboxMessageRepository extends CrudRepository<OutboxMessage, String>, OutboxMessageRepositoryCustom {
+    String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+    /**
+     * Hibernate renders "skip locked" for this lock timeout value.
+     */
+    String SKIP_LOCKED = "-2";
+
     Page<OutboxMessage> findByStatusAndRetryCountLessThanEqual(OutboxMessageStatus status, Integer retryCount, Pageable pageRequest);
 
     @Query("select m from OutboxMessage as m where m.createdAt <= :delayStart and m.status = 'NEW'")
     Page<OutboxMessage> findMessagesThatCouldNotBeSent(@Param("delayStart") LocalDateTime delayStart, Pageable pageRequest);
 
-    @Modifying
-    @Query("delete from OutboxMessage as m where m.createdAt <= :thresholdDate")
-    int deleteOldOutboxMessages(@Param("thresholdDate") LocalDateTime thresholdDate);
+    /**
+     * Keyset query, returns the messages which come after the given (createdAt, id) cursor without a count query. Only
+     * the messages whose next attempt is due are returned. The messages which are failed before the next attempt was
+     * recorded don't have it, so they are due. The (status, created_at, id) index serves the cursor and the order, the
+     * next attempt is filtered on the rows which it returns.
+     */
+    @Query("select m from OutboxMessage as m where m.status = :status and m.retryCount <= :retryCount "
+            + "and (m.nextAttemptAt is null or m.nextAttemptAt <= :now) "
+            + "and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id)) order by m.createdAt asc, m.id asc")
+    Slice<OutboxMessage> findByStatusAndRetryCountLessThanEqualAfter(@Param("status") OutboxMessageStatus status,
+                                                                     @Param("retryCount") Integer retryCount,
+                                                                     @Param("now") LocalDateTime now,
+                                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                                     @Param("id") String id,
+                                                                     Pageable pageRequest);
+
+    /**
+     * Keyset query, returns the messages which come after the given (createdAt, id) cursor without a count query.
+     */
+    @Query("select m from OutboxMessage as m where m.createdAt <= :delayStart and m.status = 'NEW' "
+            + "and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id)) order by m.createdAt asc, m.id asc")
+    Slice<OutboxMessage> findMessagesThatCouldNotBeSentAfter(@Param("delayStart") LocalDateTime delayStart,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") String id,
+                                                             Pageable pageRequest);
+
+    /**
+     * Same as {@link #findByStatusAndRetryCountLessThanEqualAfter}, but it claims the returned rows with
+     * {@code select ... for update skip locked}. The rows which are claimed by another node are skipped, and the claim
+     * is released when the transaction completes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = LOCK_TIMEOUT_HINT, value = SKIP_LOCKED))
+    @Query("select m from OutboxMessage as m where m.status = :status and m.retryCount <= :retryCount "
+            + "and (m.nextAttemptAt is null or m.nextAttemptAt <= :now) "
+            + "and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id)) order by m.createdAt asc, m.id asc")
+    Slice<OutboxMessage> claimByStatusAndRetryCountLessThanEqualAfter(@Param("status") OutboxMessageStatus status,
+                                                                      @Param("retryCount") Integer retryCount,
+                                                                      @Param("now") LocalDateTime now,
+                                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                                      @Param("id") String id,
+                                                                      Pageable pageRequest);
+
+    /**
+     * Same as {@link #findMessagesThatCouldNotBeSentAfter}, but it claims the returned rows with
+     * {@code select ... for update skip locked}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = LOCK_TIMEOUT_HINT, value = SKIP_LOCKED))
+    @Query("select m from OutboxMessage as m where m.createdAt <= :delayStart and m.status = 'NEW' "
+            + "and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id)) order by m.createdAt asc, m.id asc")
+    Slice<OutboxMessage> claimMessagesThatCouldNotBeSentAfter(@Param("delayStart") LocalDateTime delayStart,
+                                                              @Param("createdAt") LocalDateTime createdAt,
+                                                              @Param("id") String id,
+                                                              Pageable pageRequest);
+
+    /**
+     * Reads only the retry count, so the payload is not loaded for a status change.
+     */
+    @Query("select m.retryCount from OutboxMessage as m where m.id = :id")
+    Optional<Integer> findRetryCountById(@Param("id") String id);
+
+    @Query("select m.id as id, m.retryCount as retryCount from OutboxMessage as m where m.id in :ids")
+    List<OutboxMessageRetryCount> findRetryCountsByIds(@Param("ids") Collection<String> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update OutboxMessage as m set m.status = 'SENT', m.sentAt = :sentAt, m.retryCount = m.retryCount + 1 where m.id = :id")
+    int markAsSent(@Param("id") String id, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update OutboxMessage as m set m.status = 'SENT', m.sentAt = :sentAt, m.retryCount = m.retryCount + 1 where m.id in :ids")
+    int markAllAsSent(@Param("ids") Collection<String> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update OutboxMessage as m set m.status = 'FAILED', m.statusMessage = :statusMessage, m.nextAttemptAt = :nextAttemptAt "
+            + "where m.id = :id")
+    int markAsFailed(@Param("id") String id, @Param("statusMessage") String statusMessage,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Bulk version of {@link #markAsFailed}, it doesn't increment the retry count either.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update OutboxMessage as m set m.status = 'FAILED', m.statusMessage = :statusMessage, m.nextAttemptAt = :nextAttemptAt "
+            + "where m.id in :ids")
+    int markAllAsFailedWithoutRetry(@Param("ids") Collection<String> ids, @Param("statusMessage") String statusMessage,
+                                    @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update OutboxMessage as m set m.status = 'FAILED', m.statusMessage = :statusMessage, m.retryCount = m.retryCount + 1, "
+            + "m.nextAttemptAt = :nextAttemptAt where m.id in :ids")
+    int markAllAsFailed(@Param("ids") Collection<String> ids, @Param("statusMessage") String statusMessage,
+                        @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Query("select m.orderingKey as orderingKey, m.sequenceNumber as sequenceNumber from OutboxMessage as m "
+            + "where m.orderingKey in :orderingKeys and m.status <> 'SENT'")
+    List<OutboxMessageSequence> findUnsentSequenceNumbers(@Param("orderingKeys") Collection<String> orderingKeys);
+
+    boolean existsByOrderingKeyAndSequenceNumberLessThanAndStatusNot(String orderingKey, Long sequenceNumber,
+                                                                     OutboxMessageStatus status);
+
+    @Query("select m.id from OutboxMessage as m where m.createdAt <= :thresholdDate order by m.createdAt, m.id")
+    List<String> findOldOutboxMessageIds(@Param("thresholdDate") LocalDateTime thresholdDate, Pageable pageRequest);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from OutboxMessage as m where m.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Returns the size and the oldest creation date of the unsent messages per status with a single grouped query.
+     */
+    @Query("select m.status as status, count(m) as messageCount, min(m.createdAt) as oldestCreatedAt "
+            + "from OutboxMessage as m where m.status <> 'SENT' group by m.status")
+    List<OutboxMessageBacklog> findBacklog();
 }
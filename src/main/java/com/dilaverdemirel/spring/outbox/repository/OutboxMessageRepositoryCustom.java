@@ -0,0 +1,27 @@
+package com.dilaverdemirel.spring.outbox.repository;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public interface OutboxMessageRepositoryCustom {
+    int INSERT_BATCH_SIZE = 500;
+
+    /**
+     * Persists the new outbox messages and flushes them as JDBC batch inserts. Unlike {@code saveAll}, it does not
+     * run a merge check for the assigned ids.
+     */
+    void insertAll(Collection<OutboxMessage> outboxMessages);
+
+    /**
+     * Reserves the next sequence numbers of the ordering keys, and returns the last sequence number of every key before
+     * the reservation. The counter rows are locked until the transaction ends, so the transactions which write the same
+     * key wait for each other. The keys are locked in their natural order to avoid deadlocks.
+     */
+    Map<String, Long> reserveSequenceNumbers(Map<String, Long> messageCountsByOrderingKey);
+}
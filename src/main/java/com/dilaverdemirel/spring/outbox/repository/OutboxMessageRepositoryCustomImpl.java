@@ -0,0 +1,97 @@
+package com.dilaverdemirel.spring.outbox.repository;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageKeySequence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+public class OutboxMessageRepositoryCustomImpl implements OutboxMessageRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate keySequenceTransactionTemplate;
+
+    @Override
+    public void insertAll(Collection<OutboxMessage> outboxMessages) {
+        if (outboxMessages.isEmpty()) {
+            return;
+        }
+
+        final var session = entityManager.unwrap(Session.class);
+        final var previousJdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(Math.min(outboxMessages.size(), INSERT_BATCH_SIZE));
+        try {
+            outboxMessages.forEach(entityManager::persist);
+            entityManager.flush();
+        } finally {
+            session.setJdbcBatchSize(previousJdbcBatchSize);
+        }
+    }
+
+    /**
+     * The counter row of a new key is inserted in its own transaction before it is locked. When two transactions write
+     * the first messages of a key at the same time, the insert of one of them is rejected by the primary key, and it
+     * locks the row of the other one. So the caller's transaction isn't rolled back by the insert.
+     */
+    @Override
+    public Map<String, Long> reserveSequenceNumbers(Map<String, Long> messageCountsByOrderingKey) {
+        final var lastSequenceNumbersByOrderingKey = new HashMap<String, Long>();
+        new TreeMap<>(messageCountsByOrderingKey).forEach((orderingKey, messageCount) -> {
+            var keySequence = entityManager.find(OutboxMessageKeySequence.class, orderingKey, LockModeType.PESSIMISTIC_WRITE);
+            if (Objects.isNull(keySequence)) {
+                insertKeySequenceIfAbsent(orderingKey);
+                keySequence = entityManager.find(OutboxMessageKeySequence.class, orderingKey, LockModeType.PESSIMISTIC_WRITE);
+            }
+            lastSequenceNumbersByOrderingKey.put(orderingKey, keySequence.getLastSequenceNumber());
+            keySequence.setLastSequenceNumber(keySequence.getLastSequenceNumber() + messageCount);
+        });
+        entityManager.flush();
+        return lastSequenceNumbersByOrderingKey;
+    }
+
+    /**
+     * Runs in a new transaction, so it uses another connection of the pool while the caller's transaction waits.
+     */
+    private void insertKeySequenceIfAbsent(String orderingKey) {
+        try {
+            getKeySequenceTransactionTemplate().executeWithoutResult(status -> {
+                entityManager.persist(new OutboxMessageKeySequence(orderingKey, 0L));
+                entityManager.flush();
+            });
+        } catch (PersistenceException | DataIntegrityViolationException exception) {
+            log.debug("Sequence of ordering key {} is already inserted by another transaction", orderingKey);
+        }
+    }
+
+    private TransactionTemplate getKeySequenceTransactionTemplate() {
+        if (Objects.isNull(keySequenceTransactionTemplate)) {
+            keySequenceTransactionTemplate = new TransactionTemplate(transactionManager);
+            keySequenceTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        return keySequenceTransactionTemplate;
+    }
+}
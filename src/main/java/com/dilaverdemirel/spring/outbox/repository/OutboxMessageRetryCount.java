@@ -0,0 +1,13 @@
+package com.dilaverdemirel.spring.outbox.repository;
+
+/**
+ * The retry count of a message, read without the payload.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public interface OutboxMessageRetryCount {
+    String getId();
+
+    Integer getRetryCount();
+}
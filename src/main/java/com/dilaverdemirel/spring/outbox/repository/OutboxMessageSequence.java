@@ -0,0 +1,13 @@
+package com.dilaverdemirel.spring.outbox.repository;
+
+/**
+ * The sequence number of a message in its ordering key.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public interface OutboxMessageSequence {
+    String getOrderingKey();
+
+    Long getSequenceNumber();
+}
@@ -0,0 +1,45 @@
+package com.dilaverdemirel.spring.outbox.retry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Calculates when a failed message is tried again. The interval grows exponentially with the retry count up to the
+ * max interval, and a random part of it is taken off, so the messages which failed together aren't tried together
+ * again when the broker recovers.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Component
+public class OutboxMessageRetryBackoff {
+
+    @Value("${dilaverdemirel.spring.outbox.failed-messages.backoff.initial-interval-in-millis:1000}")
+    protected Long initialIntervalInMillis;
+
+    @Value("${dilaverdemirel.spring.outbox.failed-messages.backoff.multiplier:2.0}")
+    protected Double multiplier;
+
+    @Value("${dilaverdemirel.spring.outbox.failed-messages.backoff.max-interval-in-millis:300000}")
+    protected Long maxIntervalInMillis;
+
+    /**
+     * The random part of the interval, between 0(no jitter) and 1(full jitter).
+     */
+    @Value("${dilaverdemirel.spring.outbox.failed-messages.backoff.jitter:0.5}")
+    protected Double jitter;
+
+    /**
+     * @param retryCount retry count of the message after the failed attempt, the first failure is 0
+     */
+    public LocalDateTime nextAttemptAt(int retryCount, LocalDateTime failedAt) {
+        final var exponentialInterval = initialIntervalInMillis * Math.pow(multiplier, Math.max(retryCount, 0));
+        final var interval = Math.min(exponentialInterval, maxIntervalInMillis);
+        final var jitteredInterval = interval * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return failedAt.plus((long) jitteredInterval, ChronoUnit.MILLIS);
+    }
+}
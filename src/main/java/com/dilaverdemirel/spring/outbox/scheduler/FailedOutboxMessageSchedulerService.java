@@ -1,22 +1,189 @@
 package com.dilaverdemirel.spring.outbox.scheduler;
 
-
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessagePublishFailedEvent;
+import com.dilaverdemirel.spring.outbox.notification.OutboxMessageChangeNotificationSource;
 import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.QUERY_RESULT_PAGE_SIZE;
 
 /**
+ * Polls the failed and not sent messages on its own thread with an adaptive delay. It runs back-to-back while full
+ * pages are sent, waits the min delay after a run which sent some messages, and doubles the delay up to the max
+ * delay while the outbox is empty. A publish failure of the in-process publish path wakes it up when the next attempt of
+ * the failed message is due, and so does a change notification when there is an
+ * {@link OutboxMessageChangeNotificationSource} bean.
+ *
  * @author dilaverdemirel
  * @since 17.05.2020
  */
-public class FailedOutboxMessageSchedulerService {
+@Slf4j
+public class FailedOutboxMessageSchedulerService implements SmartLifecycle {
+    private static final String THREAD_NAME = "outbox-relay-poller";
+
     @Autowired
     private OutboxMessagePublisherService outboxMessagePublisherService;
 
-    @Transactional
-    @Scheduled(fixedDelay = 5000)
-    public void sendFailedMessages() {
-        outboxMessagePublisherService.publishAllFailedMessages();
+    @Autowired(required = false)
+    private OutboxMessageChangeNotificationSource outboxMessageChangeNotificationSource;
+
+    @Value("${dilaverdemirel.spring.outbox.relay.poller.min-delay-in-millis:500}")
+    protected Long minDelayInMillis;
+
+    @Value("${dilaverdemirel.spring.outbox.relay.poller.max-delay-in-millis:30000}")
+    protected Long maxDelayInMillis;
+
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+    private final ConcurrentSkipListSet<LocalDateTime> scheduledWakeUps = new ConcurrentSkipListSet<>();
+    private volatile boolean running;
+    private volatile Thread pollerThread;
+    private long idleDelayInMillis;
+
+    /**
+     * Runs the relay once.
+     *
+     * @return the number of the messages which are sent or marked as failed
+     */
+    public int sendFailedMessages() {
+        return outboxMessagePublisherService.publishAllFailedMessages();
+    }
+
+    /**
+     * The failed message can't be sent again before its next attempt, so the poller is woken up then. A message which
+     * couldn't be marked as failed stays as a not sent message, and it is found by the regular runs.
+     */
+    @EventListener(classes = {OutboxMessagePublishFailedEvent.class})
+    public void onOutboxMessagePublishFailed(OutboxMessagePublishFailedEvent outboxMessagePublishFailedEvent) {
+        final var nextAttemptAt = outboxMessagePublishFailedEvent.getNextAttemptAt();
+        if (Objects.isNull(nextAttemptAt)) {
+            return;
+        }
+
+        log.debug("Outbox relay poller is woken up at {}, publish of {} failed", nextAttemptAt,
+                outboxMessagePublishFailedEvent.getMessageId());
+        scheduleWakeUp(nextAttemptAt);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        pollerThread = new Thread(this::poll, THREAD_NAME);
+        pollerThread.setDaemon(true);
+        pollerThread.start();
+        if (Objects.nonNull(outboxMessageChangeNotificationSource)) {
+            outboxMessageChangeNotificationSource.start(this::scheduleWakeUp);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (Objects.nonNull(outboxMessageChangeNotificationSource)) {
+            outboxMessageChangeNotificationSource.stop();
+        }
+        final var thread = pollerThread;
+        if (Objects.nonNull(thread)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Wakes the poller up at the given time. The time is rounded up to the second, so the messages which fail together
+     * share a wake up.
+     */
+    void scheduleWakeUp(LocalDateTime wakeUpAt) {
+        final var wakeUpSecond = wakeUpAt.truncatedTo(ChronoUnit.SECONDS);
+        if (wakeUpSecond.isBefore(wakeUpAt)) {
+            scheduledWakeUps.add(wakeUpSecond.plusSeconds(1));
+        } else {
+            scheduledWakeUps.add(wakeUpSecond);
+        }
+        final var thread = pollerThread;
+        if (Objects.nonNull(thread)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * A full page means there may be more messages, so the next run starts immediately. The idle delay is reset by a
+     * run which sent some messages and by a wake up.
+     */
+    long nextDelayInMillis(int messageCount) {
+        if (messageCount >= QUERY_RESULT_PAGE_SIZE) {
+            idleDelayInMillis = minDelayInMillis;
+            return 0;
+        }
+        if (messageCount > 0) {
+            idleDelayInMillis = minDelayInMillis;
+            return minDelayInMillis;
+        }
+
+        final var delayInMillis = Math.max(idleDelayInMillis, minDelayInMillis);
+        idleDelayInMillis = Math.min(delayInMillis * 2, maxDelayInMillis);
+        return delayInMillis;
+    }
+
+    private void poll() {
+        while (running) {
+            var messageCount = 0;
+            try {
+                messageCount = sendFailedMessages();
+            } catch (RuntimeException exception) {
+                log.warn("Outbox relay poller run is failed", exception);
+            }
+
+            final var delayInMillis = nextDelayInMillis(messageCount);
+            if (delayInMillis > 0) {
+                park(delayInMillis);
+            }
+            if (wakeUpRequested.getAndSet(false)) {
+                idleDelayInMillis = minDelayInMillis;
+            }
+        }
     }
+
+    /**
+     * Parks until the delay ends, a wake up is requested or the scheduled wake up is due. The poller is unparked when a
+     * wake up is scheduled, so the park time is calculated again.
+     */
+    private void park(long delayInMillis) {
+        final var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayInMillis);
+        while (running && !wakeUpRequested.get()) {
+            var parkNanos = deadline - System.nanoTime();
+            final var now = LocalDateTime.now();
+            final var wakeUpAt = scheduledWakeUps.ceiling(LocalDateTime.MIN);
+            if (Objects.nonNull(wakeUpAt)) {
+                final var nanosUntilWakeUp = Duration.between(now, wakeUpAt).toNanos();
+                if (nanosUntilWakeUp <= 0) {
+                    scheduledWakeUps.headSet(now, true).clear();
+                    wakeUpRequested.set(true);
+                    return;
+                }
+                parkNanos = Math.min(parkNanos, nanosUntilWakeUp);
+            }
+            if (parkNanos <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(this, parkNanos);
+        }
+    }
+
 }
@@ -0,0 +1,57 @@
+package com.dilaverdemirel.spring.outbox.serializer;
+
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessagePayloadSerializationException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericContainer;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the Avro records in binary encoding without the schema. One DatumWriter is created and kept for every schema.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class AvroOutboxMessagePayloadSerializer implements OutboxMessagePayloadSerializer {
+    private final Map<Schema, DatumWriter<Object>> datumWriters = new ConcurrentHashMap<>();
+
+    @Override
+    public OutboxMessagePayloadFormat getFormat() {
+        return OutboxMessagePayloadFormat.AVRO;
+    }
+
+    @Override
+    public byte[] serialize(Object payload) {
+        if (!(payload instanceof GenericContainer)) {
+            throw new OutboxMessagePayloadSerializationException("Object is not an Avro record, the class is "
+                    + payload.getClass().getName());
+        }
+
+        final var record = (GenericContainer) payload;
+        try {
+            final var outputStream = new ByteArrayOutputStream();
+            final var encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
+            datumWriters.computeIfAbsent(record.getSchema(), schema -> createDatumWriter(schema, record))
+                    .write(record, encoder);
+            encoder.flush();
+            return outputStream.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            throw new OutboxMessagePayloadSerializationException("Object is not eligible to AVRO conversion!", e);
+        }
+    }
+
+    private static DatumWriter<Object> createDatumWriter(Schema schema, GenericContainer record) {
+        if (record instanceof SpecificRecord) {
+            return new SpecificDatumWriter<>(schema);
+        }
+        return new GenericDatumWriter<>(schema);
+    }
+}
@@ -0,0 +1,64 @@
+package com.dilaverdemirel.spring.outbox.serializer;
+
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessagePayloadSerializationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serializes the payloads with Jackson. One ObjectWriter is created and kept for every payload class, so the serializer
+ * of the class is resolved only once.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+public class JacksonOutboxMessagePayloadSerializer implements OutboxMessagePayloadSerializer {
+    private final ObjectMapper objectMapper;
+    private final OutboxMessagePayloadFormat format;
+    private final Map<Class<?>, ObjectWriter> objectWriters = new ConcurrentHashMap<>();
+
+    public JacksonOutboxMessagePayloadSerializer(ObjectMapper objectMapper, OutboxMessagePayloadFormat format) {
+        this.objectMapper = objectMapper;
+        this.format = format;
+    }
+
+    @Override
+    public OutboxMessagePayloadFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public byte[] serialize(Object payload) {
+        try {
+            return objectWriterOf(payload).writeValueAsBytes(payload);
+        } catch (JsonProcessingException processingException) {
+            log.error(processingException.getMessage(), processingException);
+            throw new OutboxMessagePayloadSerializationException("Object is not eligible to " + format + " conversion!",
+                    processingException);
+        }
+    }
+
+    @Override
+    public String serializeToString(Object payload) {
+        if (format.isBinary()) {
+            return OutboxMessagePayloadSerializer.super.serializeToString(payload);
+        }
+
+        try {
+            return objectWriterOf(payload).writeValueAsString(payload);
+        } catch (JsonProcessingException processingException) {
+            log.error(processingException.getMessage(), processingException);
+            throw new OutboxMessagePayloadSerializationException("Object is not eligible to " + format + " conversion!",
+                    processingException);
+        }
+    }
+
+    private ObjectWriter objectWriterOf(Object payload) {
+        return objectWriters.computeIfAbsent(payload.getClass(), objectMapper::writerFor);
+    }
+}
@@ -0,0 +1,62 @@
+package com.dilaverdemirel.spring.outbox.serializer;
+
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * The payload formats. A format other than JSON is recorded in the message class column as a suffix, for exp.
+ * com.example.PaymentCreated;format=avro, so the relay sends every message with the content type of its own format.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public enum OutboxMessagePayloadFormat {
+    JSON(MimeTypeUtils.APPLICATION_JSON, false),
+    SMILE(MimeType.valueOf("application/x-jackson-smile"), true),
+    CBOR(MimeType.valueOf("application/cbor"), true),
+    AVRO(MimeType.valueOf("application/avro"), true),
+    PROTOBUF(MimeType.valueOf("application/x-protobuf"), true);
+
+    private static final String FORMAT_SUFFIX = ";format=";
+
+    private final MimeType contentType;
+    private final boolean binary;
+
+    OutboxMessagePayloadFormat(MimeType contentType, boolean binary) {
+        this.contentType = contentType;
+        this.binary = binary;
+    }
+
+    public MimeType getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Binary formats can be kept only in the binary payload column.
+     */
+    public boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * JSON is recorded without a suffix, so the JSON message classes stay as they are saved by the previous versions.
+     */
+    public String messageClassOf(Class<?> payloadClass) {
+        if (this == JSON) {
+            return payloadClass.getName();
+        }
+        return payloadClass.getName() + FORMAT_SUFFIX + name().toLowerCase();
+    }
+
+    /**
+     * Returns the format recorded in the message class. The messages saved without a format are JSON.
+     */
+    public static OutboxMessagePayloadFormat ofMessageClass(String messageClass) {
+        if (messageClass == null || !messageClass.contains(FORMAT_SUFFIX)) {
+            return JSON;
+        }
+
+        final var format = messageClass.substring(messageClass.lastIndexOf(FORMAT_SUFFIX) + FORMAT_SUFFIX.length());
+        return valueOf(format.toUpperCase());
+    }
+}
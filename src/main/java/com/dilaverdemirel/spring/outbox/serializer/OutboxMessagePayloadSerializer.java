@@ -0,0 +1,58 @@
+package com.dilaverdemirel.spring.outbox.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializes the outbox message payloads. The default serializer writes JSON with the application's ObjectMapper. You
+ * can define a bean to use another format, for exp. {@code OutboxMessagePayloadSerializer.avro()}.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public interface OutboxMessagePayloadSerializer {
+
+    OutboxMessagePayloadFormat getFormat();
+
+    byte[] serialize(Object payload);
+
+    default String serializeToString(Object payload) {
+        if (getFormat().isBinary()) {
+            throw new UnsupportedOperationException(getFormat() + " payload can't be serialized to a string");
+        }
+        return new String(serialize(payload), StandardCharsets.UTF_8);
+    }
+
+    static OutboxMessagePayloadSerializer json(ObjectMapper objectMapper) {
+        return new JacksonOutboxMessagePayloadSerializer(objectMapper, OutboxMessagePayloadFormat.JSON);
+    }
+
+    /**
+     * Needs com.fasterxml.jackson.dataformat:jackson-dataformat-smile dependency.
+     */
+    static OutboxMessagePayloadSerializer smile(ObjectMapper objectMapper) {
+        return new SmileOutboxMessagePayloadSerializer(objectMapper);
+    }
+
+    /**
+     * Needs com.fasterxml.jackson.dataformat:jackson-dataformat-cbor dependency.
+     */
+    static OutboxMessagePayloadSerializer cbor(ObjectMapper objectMapper) {
+        return new CborOutboxMessagePayloadSerializer(objectMapper);
+    }
+
+    /**
+     * Needs org.apache.avro:avro dependency. The payload must be an Avro record.
+     */
+    static OutboxMessagePayloadSerializer avro() {
+        return new AvroOutboxMessagePayloadSerializer();
+    }
+
+    /**
+     * Needs com.google.protobuf:protobuf-java dependency. The payload must be a Protobuf message.
+     */
+    static OutboxMessagePayloadSerializer protobuf() {
+        return new ProtobufOutboxMessagePayloadSerializer();
+    }
+}
@@ -0,0 +1,27 @@
+package com.dilaverdemirel.spring.outbox.serializer;
+
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessagePayloadSerializationException;
+import com.google.protobuf.MessageLite;
+
+/**
+ * Writes the Protobuf messages in their wire format.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class ProtobufOutboxMessagePayloadSerializer implements OutboxMessagePayloadSerializer {
+
+    @Override
+    public OutboxMessagePayloadFormat getFormat() {
+        return OutboxMessagePayloadFormat.PROTOBUF;
+    }
+
+    @Override
+    public byte[] serialize(Object payload) {
+        if (!(payload instanceof MessageLite)) {
+            throw new OutboxMessagePayloadSerializationException("Object is not a Protobuf message, the class is "
+                    + payload.getClass().getName());
+        }
+        return ((MessageLite) payload).toByteArray();
+    }
+}
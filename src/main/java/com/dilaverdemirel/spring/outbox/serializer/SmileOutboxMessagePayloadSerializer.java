@@ -0,0 +1,17 @@
+package com.dilaverdemirel.spring.outbox.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Writes SMILE with a copy of the application's ObjectMapper, so the registered modules and the settings are kept.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+public class SmileOutboxMessagePayloadSerializer extends JacksonOutboxMessagePayloadSerializer {
+
+    public SmileOutboxMessagePayloadSerializer(ObjectMapper objectMapper) {
+        super(objectMapper.copyWith(new SmileFactory()), OutboxMessagePayloadFormat.SMILE);
+    }
+}
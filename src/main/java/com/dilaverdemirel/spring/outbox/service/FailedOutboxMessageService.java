@@ -1,9 +1,25 @@
 package com.dilaverdemirel.spring.outbox.service;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
 /**
  * @author dilaverdemirel
  * @since 8.07.2020
  */
 public interface FailedOutboxMessageService {
-    void markAsFailedWithExceptionMessage(String id, String exceptionMessage);
+    /**
+     * Marks the message as failed and schedules its next attempt.
+     *
+     * @return the next attempt time of the message, or empty when the id is blank
+     */
+    Optional<LocalDateTime> markAsFailedWithExceptionMessage(String id, String exceptionMessage);
+
+    /**
+     * Marks all messages as failed in a single transaction. The ids which don't have a message are skipped.
+     *
+     * @param exceptionMessagesById exception messages by outbox message id
+     */
+    void markAllAsFailedWithExceptionMessages(Map<String, String> exceptionMessagesById);
 }
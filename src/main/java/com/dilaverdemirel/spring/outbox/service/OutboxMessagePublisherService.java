@@ -1,5 +1,7 @@
 package com.dilaverdemirel.spring.outbox.service;
 
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
+
 /**
  * @author dilaverdemirel
  * @since 17.05.2020
@@ -9,10 +11,25 @@ public interface OutboxMessagePublisherService {
     int QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT = 30;
     String OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME = "X-Outbox-Message-Id";
     String OUTBOX_MESSAGE_EXCEPTION_HEADER_PARAMETER_NAME = "x-exception-stacktrace";
+    String OUTBOX_MESSAGE_ORDERING_KEY_HEADER_PARAMETER_NAME = "X-Outbox-Ordering-Key";
+    String OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME = "X-Outbox-Sequence-Number";
+    String OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME = "X-Outbox-Send-Id";
 
     void publishById(String id);
 
-    void publishAllFailedMessages();
+    /**
+     * Publishes the committed message. When snapshot publishing is enabled, the message is sent from the snapshot in the
+     * meta data without reading it from DB, otherwise it works like {@link #publishById(String)}.
+     */
+    void publish(OutboxMessageEventMetaData outboxMessageEventMetaData);
+
+    /**
+     * Sends the due failed messages and the messages which could not be sent.
+     *
+     * @return the number of the messages which are sent or marked as failed, the relay poller decides its next delay by
+     * it. The messages which are held back by their unsent predecessors aren't counted, so they don't keep the poller busy
+     */
+    int publishAllFailedMessages();
 
     void maintenanceToOutboxMessages();
 }
@@ -1,6 +1,7 @@
 package com.dilaverdemirel.spring.outbox.service;
 
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageRetentionResult;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.constraints.NotEmpty;
@@ -16,5 +17,12 @@ import java.util.Optional;
 public interface OutboxMessageService {
     Optional<OutboxMessage> getById(@NotEmpty String id);
 
-    long deleteOldOutboxMessages(@NotNull LocalDateTime thresholdDate);
+    /**
+     * Deletes the messages created before the threshold date, or drops their partitions when partitioned storage is
+     * enabled.
+     *
+     * @return the number of deleted messages and the number of dropped partitions, a dropped partition may have any
+     * number of messages
+     */
+    OutboxMessageRetentionResult deleteOldOutboxMessages(@NotNull LocalDateTime thresholdDate);
 }
@@ -1,13 +1,21 @@
 package com.dilaverdemirel.spring.outbox.service.impl;
 
-import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
 import com.dilaverdemirel.spring.outbox.exception.OutboxMessageNotFoundException;
 import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRetryCount;
+import com.dilaverdemirel.spring.outbox.retry.OutboxMessageRetryBackoff;
 import com.dilaverdemirel.spring.outbox.service.FailedOutboxMessageService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 import static com.dilaverdemirel.spring.outbox.util.StringUtils.isBlank;
 
 /**
@@ -18,26 +26,63 @@ import static com.dilaverdemirel.spring.outbox.util.StringUtils.isBlank;
 @Service
 public class FailedOutboxMessageServiceImpl implements FailedOutboxMessageService {
     private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxMessageRetryBackoff outboxMessageRetryBackoff;
 
-    public FailedOutboxMessageServiceImpl(OutboxMessageRepository outboxMessageRepository) {
+    public FailedOutboxMessageServiceImpl(OutboxMessageRepository outboxMessageRepository,
+                                          OutboxMessageRetryBackoff outboxMessageRetryBackoff) {
         this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxMessageRetryBackoff = outboxMessageRetryBackoff;
     }
 
+    /**
+     * Only the retry count is read and the status columns are updated, so the payload is never loaded or written.
+     */
     @Override
     @Transactional
-    public void markAsFailedWithExceptionMessage(String id, String exceptionMessage) {
+    public Optional<LocalDateTime> markAsFailedWithExceptionMessage(String id, String exceptionMessage) {
         if (isBlank(id)) {
-            return;
+            return Optional.empty();
         }
 
-        final var outboxMessageOpt = outboxMessageRepository.findById(id);
-        if (outboxMessageOpt.isPresent()) {
-            final var outboxMessage = outboxMessageOpt.get();
-            outboxMessage.setStatus(OutboxMessageStatus.FAILED);
-            outboxMessage.setStatusMessage(exceptionMessage);
-            outboxMessageRepository.save(outboxMessage);
+        final var retryCountOpt = outboxMessageRepository.findRetryCountById(id);
+        if (retryCountOpt.isPresent()) {
+            final var nextAttemptAt = outboxMessageRetryBackoff.nextAttemptAt(retryCountOpt.get(), LocalDateTime.now());
+            outboxMessageRepository.markAsFailed(id, exceptionMessage, nextAttemptAt);
+            return Optional.of(nextAttemptAt);
         } else {
             throw new OutboxMessageNotFoundException(String.format("There is not outbox message for id %s", id));
         }
     }
+
+    /**
+     * The retry counts are read with one query, and the messages are updated with one bulk update per distinct
+     * exception message and retry count. The messages which fail together usually share both, so a burst of errors
+     * is marked with a few updates.
+     */
+    @Override
+    @Transactional
+    public void markAllAsFailedWithExceptionMessages(Map<String, String> exceptionMessagesById) {
+        if (exceptionMessagesById.isEmpty()) {
+            return;
+        }
+
+        final var retryCounts = outboxMessageRepository.findRetryCountsByIds(exceptionMessagesById.keySet());
+        if (retryCounts.size() < exceptionMessagesById.size()) {
+            log.warn("{} of {} failed outbox messages are not found", exceptionMessagesById.size() - retryCounts.size(),
+                    exceptionMessagesById.size());
+        }
+
+        final var idsByExceptionMessageAndRetryCount = new HashMap<String, Map<Integer, List<String>>>();
+        for (OutboxMessageRetryCount retryCount : retryCounts) {
+            idsByExceptionMessageAndRetryCount
+                    .computeIfAbsent(exceptionMessagesById.get(retryCount.getId()), exceptionMessage -> new HashMap<>())
+                    .computeIfAbsent(retryCount.getRetryCount(), count -> new ArrayList<>())
+                    .add(retryCount.getId());
+        }
+
+        final var failedAt = LocalDateTime.now();
+        idsByExceptionMessageAndRetryCount.forEach((exceptionMessage, idsByRetryCount) ->
+                idsByRetryCount.forEach((retryCount, ids) -> outboxMessageRepository.markAllAsFailedWithoutRetry(ids,
+                        exceptionMessage, outboxMessageRetryBackoff.nextAttemptAt(retryCount, failedAt))));
+    }
 }
@@ -1,22 +1,51 @@
 package com.dilaverdemirel.spring.outbox.service.impl;
 
+import com.dilaverdemirel.spring.outbox.circuitbreaker.OutboxMessageCircuitBreaker;
+import com.dilaverdemirel.spring.outbox.compression.OutboxMessagePayloadCompressor;
+import com.dilaverdemirel.spring.outbox.confirm.OutboxMessageSendConfirmations;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageOrderingKey;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessageCircuitOpenException;
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessageSendException;
+import com.dilaverdemirel.spring.outbox.metrics.OutboxMessageMetrics;
 import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import com.dilaverdemirel.spring.outbox.retry.OutboxMessageRetryBackoff;
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadFormat;
 import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
+import com.dilaverdemirel.spring.outbox.service.OutboxMessageService;
+import com.dilaverdemirel.spring.outbox.util.MessageUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.cloud.stream.function.StreamOperations;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 /**
  * @author dilaverdemirel
@@ -24,11 +53,27 @@ import java.util.Map;
  */
 @Slf4j
 @Service
-public class OutboxMessagePublisherServiceImpl implements OutboxMessagePublisherService {
+public class OutboxMessagePublisherServiceImpl implements OutboxMessagePublisherService, InitializingBean, DisposableBean {
+    private static final LocalDateTime KEYSET_START_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
 
     private final OutboxMessageRepository outboxMessageRepository;
 
-    private final StreamBridge streamBridge;
+    /**
+     * StreamBridge of Spring Cloud Stream.
+     */
+    private final StreamOperations streamOperations;
+
+    private final OutboxMessageService outboxMessageService;
+
+    private final OutboxMessagePayloadCompressor outboxMessagePayloadCompressor;
+
+    private final OutboxMessageMetrics outboxMessageMetrics;
+
+    private final OutboxMessageRetryBackoff outboxMessageRetryBackoff;
+
+    private final OutboxMessageCircuitBreaker outboxMessageCircuitBreaker;
+
+    private final OutboxMessageSendConfirmations outboxMessageSendConfirmations;
 
     @Value("${dilaverdemirel.spring.outbox.failed-messages.retry-count-threshold:3}")
     protected Integer retryCountThreshold;
@@ -36,10 +81,70 @@ public class OutboxMessagePublisherServiceImpl implements OutboxMessagePublisher
     @Value("${dilaverdemirel.spring.outbox.failed-messages.message-life-time-in-days:7}")
     protected Integer messageLifetimeInDays;
 
+    @Value("${dilaverdemirel.spring.outbox.publish.snapshot-enabled:false}")
+    protected boolean snapshotPublishEnabled;
+
+    @Value("${dilaverdemirel.spring.outbox.relay.claim-enabled:false}")
+    protected boolean claimEnabled;
+
+    @Value("${dilaverdemirel.spring.outbox.relay.parallelism:1}")
+    protected Integer relayParallelism;
+
+    /**
+     * A NEW message is read by the relay after this delay, so it isn't sent again while it is being sent after its commit.
+     */
+    @Value("${dilaverdemirel.spring.outbox.relay.not-sent-delay-in-seconds:" + QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT + "}")
+    protected Integer notSentDelayInSeconds;
+
+    @Value("${dilaverdemirel.spring.outbox.relay.ordering-key:SOURCE_ID}")
+    protected OutboxMessageOrderingKey orderingKey;
+
+    /**
+     * Number of the sends which wait for their confirms on every relay lane, it is used in confirm mode.
+     */
+    @Value("${dilaverdemirel.spring.outbox.relay.in-flight-window-size:100}")
+    protected Integer inFlightWindowSize;
+
+    private PartitionedOutboxMessageSender partitionedOutboxMessageSender;
+
+    private final TransactionTemplate claimTransactionTemplate;
+
+    private final TransactionTemplate relayTransactionTemplate;
+
     public OutboxMessagePublisherServiceImpl(OutboxMessageRepository outboxMessageRepository,
-                                             @Autowired(required = false) StreamBridge streamBridge) {
+                                             @Autowired(required = false) StreamOperations streamOperations,
+                                             OutboxMessageService outboxMessageService,
+                                             OutboxMessagePayloadCompressor outboxMessagePayloadCompressor,
+                                             OutboxMessageMetrics outboxMessageMetrics,
+                                             OutboxMessageRetryBackoff outboxMessageRetryBackoff,
+                                             OutboxMessageCircuitBreaker outboxMessageCircuitBreaker,
+                                             OutboxMessageSendConfirmations outboxMessageSendConfirmations,
+                                             PlatformTransactionManager transactionManager) {
         this.outboxMessageRepository = outboxMessageRepository;
-        this.streamBridge = streamBridge;
+        this.streamOperations = streamOperations;
+        this.outboxMessageService = outboxMessageService;
+        this.outboxMessagePayloadCompressor = outboxMessagePayloadCompressor;
+        this.outboxMessageMetrics = outboxMessageMetrics;
+        this.outboxMessageRetryBackoff = outboxMessageRetryBackoff;
+        this.outboxMessageCircuitBreaker = outboxMessageCircuitBreaker;
+        this.outboxMessageSendConfirmations = outboxMessageSendConfirmations;
+        this.claimTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.relayTransactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (outboxMessageSendConfirmations.isEnabled()) {
+            partitionedOutboxMessageSender = new PartitionedOutboxMessageSender(relayParallelism, inFlightWindowSize);
+        } else {
+            partitionedOutboxMessageSender = new PartitionedOutboxMessageSender(relayParallelism);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        partitionedOutboxMessageSender.shutdown();
     }
 
     @Override
@@ -50,62 +155,348 @@ public class OutboxMessagePublisherServiceImpl implements OutboxMessagePublisher
         if (outboxMessageOptional.isPresent()) {
             log.debug("Outbox message with {} found", id);
             final var outboxMessage = outboxMessageOptional.get();
+            if (hasUnsentPredecessor(outboxMessage.getOrderingKey(), outboxMessage.getSequenceNumber())) {
+                log.debug("Outbox message with {} is left for the relay, its predecessor is not sent yet", id);
+                return;
+            }
             sendAndMarkAsSent(outboxMessage);
         }
     }
 
+    /**
+     * When the circuit of the channel is open, the message is not sent, it stays as NEW and the relay sends it later.
+     */
     @Override
     @Transactional
-    public void publishAllFailedMessages() {
-        log.debug("Failed Outbox messages is publishing again!");
-        var page = 0;
-        while (true) {
-            final var pageRequest = PageRequest.of(page, QUERY_RESULT_PAGE_SIZE, Sort.Direction.ASC, "createdAt");
-            final var failedMessages = outboxMessageRepository
-                    .findByStatusAndRetryCountLessThanEqual(OutboxMessageStatus.FAILED, retryCountThreshold, pageRequest);
-            if (failedMessages.isEmpty()) {
-                break;
-            }
-            failedMessages.forEach(this::sendAndMarkAsSent);
-            page++;
+    public void publish(OutboxMessageEventMetaData outboxMessageEventMetaData) {
+        if (outboxMessageCircuitBreaker.isOpen(outboxMessageEventMetaData.getChannel())) {
+            log.debug("Circuit of {} is open, outbox message with {} is left for the relay",
+                    outboxMessageEventMetaData.getChannel(), outboxMessageEventMetaData.getMessageId());
+            return;
         }
 
-        log.debug("Not sent outbox messages is publishing again!");
-        page = 0;
-        while (true) {
-            final var pageRequest = PageRequest.of(page, QUERY_RESULT_PAGE_SIZE, Sort.Direction.ASC, "createdAt");
-            final var messagesThatCouldNotBeSent = outboxMessageRepository.findMessagesThatCouldNotBeSent(
-                    LocalDateTime.now().minusSeconds(QUERY_DELAY_FOR_MESSAGE_THAT_COULD_NOT_BE_SENT),
-                    pageRequest);
+        if (!snapshotPublishEnabled || !outboxMessageEventMetaData.hasSnapshot()) {
+            publishById(outboxMessageEventMetaData.getMessageId());
+            return;
+        }
 
-            if (messagesThatCouldNotBeSent.isEmpty()) {
-                break;
-            }
-            messagesThatCouldNotBeSent.forEach(this::sendAndMarkAsSent);
-            page++;
+        final var id = outboxMessageEventMetaData.getMessageId();
+        if (hasUnsentPredecessor(outboxMessageEventMetaData.getOrderingKey(), outboxMessageEventMetaData.getSequenceNumber())) {
+            log.debug("Outbox message with {} is left for the relay, its predecessor is not sent yet", id);
+            return;
+        }
+
+        log.debug("Outbox message is publishing from the committed snapshot, the id is {}", id);
+        await(send(id, outboxMessageEventMetaData.getChannel(), outboxMessageEventMetaData.getSnapshotPayload(),
+                outboxMessageEventMetaData.getFormat(), outboxMessageEventMetaData.getCreatedAt(),
+                sequenceHeaders(outboxMessageEventMetaData.getOrderingKey(), outboxMessageEventMetaData.getSequenceNumber())));
+        if (outboxMessageRepository.markAsSent(id, LocalDateTime.now()) == 0) {
+            log.warn("Outbox message with {} is sent but it could not be marked as sent", id);
         }
     }
 
     @Override
     @Transactional
+    public int publishAllFailedMessages() {
+        log.debug("Failed Outbox messages is publishing again!");
+        final var failedMessageCount = publishAll(this::findFailedMessagesAfter);
+
+        log.debug("Not sent outbox messages is publishing again!");
+        final var delayStart = LocalDateTime.now().minusSeconds(notSentDelayInSeconds);
+        return failedMessageCount + publishAll((createdAt, id) -> findMessagesThatCouldNotBeSentAfter(delayStart, createdAt, id));
+    }
+
+    /**
+     * The relay pass runs in its own transaction, and the retention runs after it is committed. So the chunk transactions
+     * of the retention are not enclosed by a long running transaction.
+     */
+    @Override
     public void maintenanceToOutboxMessages() {
         log.debug("Maintenance process is starting!");
-        publishAllFailedMessages();
+        relayTransactionTemplate.execute(status -> publishAllFailedMessages());
         log.debug("Outbox messages is cleaning up! Message lifetime is {}!", messageLifetimeInDays);
-        final var deletedMessageCount =
-                outboxMessageRepository.deleteOldOutboxMessages(LocalDateTime.now().minusDays(messageLifetimeInDays));
-        log.debug("{} old outbox messages deleted!", deletedMessageCount);
+        final var retentionResult =
+                outboxMessageService.deleteOldOutboxMessages(LocalDateTime.now().minusDays(messageLifetimeInDays));
+        log.debug("{} old outbox messages deleted, {} old outbox message partitions dropped!",
+                retentionResult.getDeletedMessageCount(), retentionResult.getDroppedPartitionCount());
     }
 
+    /**
+     * The first message of an ordering key, and a message which isn't sequenced, doesn't have a predecessor.
+     */
+    private boolean hasUnsentPredecessor(String messageOrderingKey, Long sequenceNumber) {
+        if (Objects.isNull(messageOrderingKey) || Objects.isNull(sequenceNumber) || sequenceNumber <= 1) {
+            return false;
+        }
+        return outboxMessageRepository.existsByOrderingKeyAndSequenceNumberLessThanAndStatusNot(messageOrderingKey,
+                sequenceNumber, OutboxMessageStatus.SENT);
+    }
+
+    /**
+     * The message is marked with an update query instead of saving the entity, so its payload isn't written again.
+     */
     private void sendAndMarkAsSent(OutboxMessage outboxMessage) {
-        final var messageHeaders = new MessageHeaders(Map.of(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME, outboxMessage.getId()));
-        final var message = MessageBuilder.createMessage(outboxMessage.getPayload(), messageHeaders);
+        await(send(outboxMessage));
+
+        outboxMessageRepository.markAsSent(outboxMessage.getId(), LocalDateTime.now());
+    }
+
+    /**
+     * Scans the messages with a (createdAt, id) keyset cursor. Unlike offset paging it doesn't skip the rows whose status
+     * changed on the previous pages, and every page costs the same. Returns the number of the messages which are sent or
+     * marked as failed, the messages which are held back by their unsent predecessors aren't counted.
+     */
+    private int publishAll(BiFunction<LocalDateTime, String, Slice<OutboxMessage>> sliceQuery) {
+        var lastCreatedAt = KEYSET_START_DATE;
+        var lastId = "";
+        var messageCount = 0;
+        while (true) {
+            final var publishedSlice = publishSlice(sliceQuery, lastCreatedAt, lastId);
+            final var outboxMessages = publishedSlice.outboxMessages;
+            messageCount += publishedSlice.publishedMessageCount;
+            if (outboxMessages.isEmpty()) {
+                break;
+            }
+
+            final var lastOutboxMessage = outboxMessages.getContent().get(outboxMessages.getNumberOfElements() - 1);
+            lastCreatedAt = lastOutboxMessage.getCreatedAt();
+            lastId = lastOutboxMessage.getId();
+
+            if (!outboxMessages.hasNext()) {
+                break;
+            }
+        }
+        return messageCount;
+    }
+
+    /**
+     * In claim mode, every slice is claimed, sent and marked in its own transaction. So the row locks of a slice are
+     * released as soon as it is completed.
+     */
+    private PublishedSlice publishSlice(BiFunction<LocalDateTime, String, Slice<OutboxMessage>> sliceQuery,
+                                        LocalDateTime lastCreatedAt, String lastId) {
+        if (claimEnabled) {
+            return claimTransactionTemplate.execute(status -> sendSlice(sliceQuery.apply(lastCreatedAt, lastId)));
+        }
+
+        return sendSlice(sliceQuery.apply(lastCreatedAt, lastId));
+    }
+
+    private PublishedSlice sendSlice(Slice<OutboxMessage> outboxMessages) {
+        if (outboxMessages.hasContent()) {
+            return new PublishedSlice(outboxMessages, sendAllAndMarkStatuses(outboxMessages));
+        }
+        return new PublishedSlice(outboxMessages, 0);
+    }
+
+    private Slice<OutboxMessage> findFailedMessagesAfter(LocalDateTime createdAt, String id) {
+        final var pageRequest = PageRequest.ofSize(QUERY_RESULT_PAGE_SIZE);
+        if (claimEnabled) {
+            return outboxMessageRepository.claimByStatusAndRetryCountLessThanEqualAfter(
+                    OutboxMessageStatus.FAILED, retryCountThreshold, LocalDateTime.now(), createdAt, id, pageRequest);
+        }
+
+        return outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                OutboxMessageStatus.FAILED, retryCountThreshold, LocalDateTime.now(), createdAt, id, pageRequest);
+    }
+
+    private Slice<OutboxMessage> findMessagesThatCouldNotBeSentAfter(LocalDateTime delayStart, LocalDateTime createdAt, String id) {
+        final var pageRequest = PageRequest.ofSize(QUERY_RESULT_PAGE_SIZE);
+        if (claimEnabled) {
+            return outboxMessageRepository.claimMessagesThatCouldNotBeSentAfter(delayStart, createdAt, id, pageRequest);
+        }
+
+        return outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(delayStart, createdAt, id, pageRequest);
+    }
+
+    /**
+     * Sends the messages on the relay lanes and then marks all sent messages with a single update. Failed messages are
+     * marked with one update per distinct failure message and retry count, every update schedules its messages with
+     * its own backoff. Returns the number of the sent and failed messages.
+     */
+    private int sendAllAndMarkStatuses(Slice<OutboxMessage> outboxMessages) {
+        final var sendableMessages = withoutUnsentPredecessors(outboxMessages.getContent());
+        final var sendResult = partitionedOutboxMessageSender.sendAll(sendableMessages, orderingKey::of,
+                this::sendFromRelay);
+        sendResult.skipped(outboxMessages.getNumberOfElements() - sendableMessages.size());
+
+        if (!sendResult.getSentIds().isEmpty()) {
+            outboxMessageRepository.markAllAsSent(sendResult.getSentIds(), LocalDateTime.now());
+        }
+        final var retryCountsById = outboxMessages.stream()
+                .collect(Collectors.toMap(OutboxMessage::getId, OutboxMessage::getRetryCount));
+        sendResult.getFailedIdsByStatusMessage().forEach((statusMessage, failedIds) ->
+                markAllAsFailed(failedIds, statusMessage, retryCountsById));
+        log.debug("{} outbox messages sent, {} outbox messages failed, {} outbox messages skipped to keep the order",
+                sendResult.getSentIds().size(), sendResult.getFailedCount(), sendResult.getSkippedCount());
+        return sendResult.getSentIds().size() + sendResult.getFailedCount();
+    }
+
+    /**
+     * Leaves out the sequenced messages whose predecessors are not sent. The unsent messages of the ordering keys are
+     * read with one query. A predecessor which comes earlier in the same slice doesn't hold the message back, because
+     * the lane sends them in order and skips the message if the predecessor fails.
+     */
+    private List<OutboxMessage> withoutUnsentPredecessors(List<OutboxMessage> outboxMessages) {
+        final var orderingKeys = outboxMessages.stream()
+                .filter(outboxMessage -> Objects.nonNull(outboxMessage.getSequenceNumber()))
+                .map(OutboxMessage::getOrderingKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (orderingKeys.isEmpty()) {
+            return outboxMessages;
+        }
+
+        final var unsentSequenceNumbersByOrderingKey = new HashMap<String, TreeSet<Long>>();
+        outboxMessageRepository.findUnsentSequenceNumbers(orderingKeys).forEach(outboxMessageSequence ->
+                unsentSequenceNumbersByOrderingKey.computeIfAbsent(outboxMessageSequence.getOrderingKey(), key -> new TreeSet<>())
+                        .add(outboxMessageSequence.getSequenceNumber()));
+
+        final var sendableMessages = new ArrayList<OutboxMessage>(outboxMessages.size());
+        for (final var outboxMessage : outboxMessages) {
+            final var unsentSequenceNumbers = unsentSequenceNumbersByOrderingKey.get(outboxMessage.getOrderingKey());
+            if (Objects.isNull(outboxMessage.getSequenceNumber()) || Objects.isNull(unsentSequenceNumbers)) {
+                sendableMessages.add(outboxMessage);
+            } else if (unsentSequenceNumbers.headSet(outboxMessage.getSequenceNumber()).isEmpty()) {
+                unsentSequenceNumbers.remove(outboxMessage.getSequenceNumber());
+                sendableMessages.add(outboxMessage);
+            }
+        }
+        return sendableMessages;
+    }
+
+    private void markAllAsFailed(List<String> failedIds, String statusMessage, Map<String, Integer> retryCountsById) {
+        final var failedAt = LocalDateTime.now();
+        failedIds.stream()
+                .collect(Collectors.groupingBy(id -> retryCountsById.get(id) + 1))
+                .forEach((retryCount, ids) -> outboxMessageRepository.markAllAsFailed(ids, statusMessage,
+                        outboxMessageRetryBackoff.nextAttemptAt(retryCount, failedAt)));
+    }
+
+    private CompletableFuture<Void> sendFromRelay(OutboxMessage outboxMessage) {
+        if (outboxMessageCircuitBreaker.isOpenForRelay(outboxMessage.getChannel())) {
+            throw new OutboxMessageCircuitOpenException("Circuit of " + outboxMessage.getChannel() + " is open");
+        }
+        if (outboxMessage.getStatus() == OutboxMessageStatus.FAILED) {
+            outboxMessageMetrics.recordRetry(outboxMessage.getChannel());
+        }
+        return send(outboxMessage);
+    }
 
-        streamBridge.send(outboxMessage.getChannel(), message);
+    private CompletableFuture<Void> send(OutboxMessage outboxMessage) {
+        return send(outboxMessage.getId(), outboxMessage.getChannel(), payloadOf(outboxMessage),
+                OutboxMessagePayloadFormat.ofMessageClass(outboxMessage.getMessageClass()), outboxMessage.getCreatedAt(),
+                sequenceHeaders(outboxMessage.getOrderingKey(), outboxMessage.getSequenceNumber()));
+    }
+
+    private Object payloadOf(OutboxMessage outboxMessage) {
+        if (Objects.nonNull(outboxMessage.getBinaryPayload())) {
+            return outboxMessagePayloadCompressor.decompress(outboxMessage.getBinaryPayload());
+        }
+        return outboxMessagePayloadCompressor.decompress(outboxMessage.getPayload());
+    }
 
-        outboxMessage.setStatus(OutboxMessageStatus.SENT);
-        outboxMessage.setSentAt(LocalDateTime.now());
-        outboxMessage.setRetryCount(outboxMessage.getRetryCount() + 1);
-        outboxMessageRepository.save(outboxMessage);
+    /**
+     * A binary payload is already serialized, so it is sent with the content type of its format and the binder gets the
+     * bytes as they are. The returned future completes when the message is sent, or confirmed in confirm mode.
+     */
+    private CompletableFuture<Void> send(String id, String channel, Object payload, OutboxMessagePayloadFormat format,
+                                         LocalDateTime createdAt, Map<String, Object> sequenceHeaders) {
+        final var messageHeaders = new MessageHeaders(createHeaders(id, payload, format, sequenceHeaders));
+        final var message = MessageBuilder.createMessage(payload, messageHeaders);
+
+        final var sendStart = System.nanoTime();
+        return sendAndConfirm(channel, message).whenComplete((result, exception) -> {
+            outboxMessageMetrics.recordSend(channel, System.nanoTime() - sendStart, Objects.isNull(exception));
+            if (Objects.nonNull(exception)) {
+                outboxMessageCircuitBreaker.recordFailure(channel);
+                return;
+            }
+            outboxMessageCircuitBreaker.recordSuccess(channel);
+            if (Objects.nonNull(createdAt)) {
+                outboxMessageMetrics.recordCommitToSend(channel, Duration.between(createdAt, LocalDateTime.now()));
+            }
+        });
+    }
+
+    /**
+     * The binder returns false when the message could not be sent, so the message is sent only when the result is true.
+     * In confirm mode, the message is sent when the binder confirms the send id of the message.
+     */
+    private CompletableFuture<Void> sendAndConfirm(String channel, Message<?> message) {
+        if (!outboxMessageSendConfirmations.isEnabled()) {
+            try {
+                if (!streamOperations.send(channel, message)) {
+                    throw new OutboxMessageSendException("Outbox message could not be sent to " + channel);
+                }
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException exception) {
+                return CompletableFuture.failedFuture(exception);
+            }
+        }
+
+        final var sendId = MessageUtils.extractSendId(message.getHeaders());
+        final var confirmation = outboxMessageSendConfirmations.register(sendId);
+        try {
+            if (!streamOperations.send(channel, message)) {
+                outboxMessageSendConfirmations.reject(sendId,
+                        new OutboxMessageSendException("Outbox message could not be sent to " + channel));
+            }
+        } catch (RuntimeException exception) {
+            outboxMessageSendConfirmations.reject(sendId, exception);
+        }
+        return confirmation;
+    }
+
+    private static void await(CompletableFuture<Void> sendResult) {
+        try {
+            sendResult.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new OutboxMessageSendException("Outbox message send is interrupted", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new OutboxMessageSendException("Outbox message could not be sent", exception.getCause());
+        }
+    }
+
+    private Map<String, Object> createHeaders(String id, Object payload, OutboxMessagePayloadFormat format,
+                                              Map<String, Object> sequenceHeaders) {
+        final var headers = new HashMap<>(sequenceHeaders);
+        headers.put(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME, id);
+        if (outboxMessageSendConfirmations.isEnabled()) {
+            headers.put(OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME, UUID.randomUUID().toString());
+        }
+        if (payload instanceof byte[]) {
+            final var contentType = Objects.requireNonNullElse(format, OutboxMessagePayloadFormat.JSON).getContentType();
+            headers.put(MessageHeaders.CONTENT_TYPE, contentType);
+        }
+        return headers;
+    }
+
+    /**
+     * The consumers can find out a gap or an out of order message of an ordering key by the sequence number header.
+     */
+    private static Map<String, Object> sequenceHeaders(String messageOrderingKey, Long sequenceNumber) {
+        if (Objects.isNull(messageOrderingKey) || Objects.isNull(sequenceNumber)) {
+            return Map.of();
+        }
+        return Map.of(OUTBOX_MESSAGE_ORDERING_KEY_HEADER_PARAMETER_NAME, messageOrderingKey,
+                OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME, sequenceNumber);
+    }
+
+    /**
+     * A slice of the relay scan and the number of its messages which are sent or marked as failed.
+     */
+    private static final class PublishedSlice {
+        private final Slice<OutboxMessage> outboxMessages;
+        private final int publishedMessageCount;
+
+        private PublishedSlice(Slice<OutboxMessage> outboxMessages, int publishedMessageCount) {
+            this.outboxMessages = outboxMessages;
+            this.publishedMessageCount = publishedMessageCount;
+        }
     }
 }
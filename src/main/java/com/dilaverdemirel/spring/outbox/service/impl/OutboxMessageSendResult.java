@@ -0,0 +1,55 @@
+package com.dilaverdemirel.spring.outbox.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+final class OutboxMessageSendResult {
+    private final List<String> sentIds = new ArrayList<>();
+    private final Map<String, List<String>> failedIdsByStatusMessage = new LinkedHashMap<>();
+    private int skippedCount;
+
+    void sent(String id) {
+        sentIds.add(id);
+    }
+
+    void failed(String id, String statusMessage) {
+        failedIdsByStatusMessage.computeIfAbsent(statusMessage, key -> new ArrayList<>()).add(id);
+    }
+
+    void skipped() {
+        skippedCount++;
+    }
+
+    void skipped(int count) {
+        skippedCount += count;
+    }
+
+    void merge(OutboxMessageSendResult sendResult) {
+        sentIds.addAll(sendResult.sentIds);
+        sendResult.failedIdsByStatusMessage.forEach((statusMessage, failedIds) ->
+                failedIdsByStatusMessage.computeIfAbsent(statusMessage, key -> new ArrayList<>()).addAll(failedIds));
+        skippedCount += sendResult.skippedCount;
+    }
+
+    List<String> getSentIds() {
+        return sentIds;
+    }
+
+    Map<String, List<String>> getFailedIdsByStatusMessage() {
+        return failedIdsByStatusMessage;
+    }
+
+    int getFailedCount() {
+        return failedIdsByStatusMessage.values().stream().mapToInt(List::size).sum();
+    }
+
+    int getSkippedCount() {
+        return skippedCount;
+    }
+}
@@ -1,33 +1,125 @@
 package com.dilaverdemirel.spring.outbox.service.impl;
 
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageRetentionResult;
+import com.dilaverdemirel.spring.outbox.partition.OutboxMessagePartitionManager;
 import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
 import com.dilaverdemirel.spring.outbox.service.OutboxMessageService;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author dilaverdemirel
  * @since 13/01/2022
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class OutboxMessageServiceImpl implements OutboxMessageService {
 
     private final OutboxMessageRepository outboxMessageRepository;
 
+    private final OutboxMessagePartitionManager outboxMessagePartitionManager;
+
+    private final TransactionTemplate chunkTransactionTemplate;
+
+    @Value("${dilaverdemirel.spring.outbox.retention.chunk-size:1000}")
+    protected Integer retentionChunkSize;
+
+    @Value("${dilaverdemirel.spring.outbox.retention.pause-between-chunks-in-millis:100}")
+    protected Long retentionPauseBetweenChunksInMillis;
+
+    @Value("${dilaverdemirel.spring.outbox.retention.time-budget-in-seconds:300}")
+    protected Long retentionTimeBudgetInSeconds;
+
+    public OutboxMessageServiceImpl(OutboxMessageRepository outboxMessageRepository,
+                                    OutboxMessagePartitionManager outboxMessagePartitionManager,
+                                    PlatformTransactionManager transactionManager) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxMessagePartitionManager = outboxMessagePartitionManager;
+        this.chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @Override
     public Optional<OutboxMessage> getById(String id) {
         return outboxMessageRepository.findById(id);
     }
 
+    /**
+     * Deletes the old messages oldest first, in chunks. Every chunk is deleted in its own transaction, so the locks are
+     * held only for a chunk. When the time budget is exhausted, the run stops and the next run continues from the oldest
+     * remaining message.
+     * <p>
+     * When partitioned storage is enabled, the future partitions are created and the expired partitions are dropped
+     * instead, and the result carries the number of dropped partitions, not a message count.
+     */
     @Override
-    @Transactional
-    public long deleteOldOutboxMessages(LocalDateTime thresholdDate) {
-        return outboxMessageRepository.deleteOldOutboxMessages(thresholdDate);
+    public OutboxMessageRetentionResult deleteOldOutboxMessages(LocalDateTime thresholdDate) {
+        if (outboxMessagePartitionManager.isPartitionDropEnabled()) {
+            outboxMessagePartitionManager.createFuturePartitions();
+            return OutboxMessageRetentionResult.builder()
+                    .droppedPartitionCount(outboxMessagePartitionManager.dropPartitionsOlderThan(thresholdDate))
+                    .build();
+        }
+
+        final var startTime = System.nanoTime();
+        final var deadline = startTime + TimeUnit.SECONDS.toNanos(retentionTimeBudgetInSeconds);
+        long deletedMessageCount = 0;
+        while (true) {
+            final var deletedChunkSize = deleteOldOutboxMessagesChunk(thresholdDate);
+            deletedMessageCount += deletedChunkSize;
+            log.debug("{} old outbox messages deleted in the chunk, {} old outbox messages deleted in {} ms",
+                    deletedChunkSize, deletedMessageCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+            if (deletedChunkSize < retentionChunkSize) {
+                break;
+            }
+
+            if (System.nanoTime() - deadline >= 0) {
+                log.info("Retention time budget({} seconds) is exhausted, {} old outbox messages deleted. "
+                        + "The remaining messages will be deleted on the next run!", retentionTimeBudgetInSeconds, deletedMessageCount);
+                break;
+            }
+
+            if (!pauseBetweenChunks()) {
+                break;
+            }
+        }
+        return OutboxMessageRetentionResult.builder().deletedMessageCount(deletedMessageCount).build();
+    }
+
+    private int deleteOldOutboxMessagesChunk(LocalDateTime thresholdDate) {
+        final Integer deletedChunkSize = chunkTransactionTemplate.execute(status -> {
+            final var ids = outboxMessageRepository.findOldOutboxMessageIds(thresholdDate, PageRequest.ofSize(retentionChunkSize));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return outboxMessageRepository.deleteAllByIds(ids);
+        });
+        return Optional.ofNullable(deletedChunkSize).orElse(0);
+    }
+
+    private boolean pauseBetweenChunks() {
+        if (retentionPauseBetweenChunksInMillis <= 0) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(retentionPauseBetweenChunksInMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Deleting old outbox messages is interrupted!");
+            return false;
+        }
     }
 }
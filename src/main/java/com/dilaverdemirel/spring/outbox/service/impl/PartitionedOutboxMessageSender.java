@@ -0,0 +1,193 @@
+package com.dilaverdemirel.spring.outbox.service.impl;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessageCircuitOpenException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Sends the relay messages on worker lanes. The ordering key of the message is hashed onto a lane, so the messages of
+ * the same key are sent strictly in order by one thread, while the unrelated keys are sent in parallel. When a message
+ * could not be sent, the following messages of its key are skipped and left for the next run. A message whose channel
+ * circuit is open is skipped in the same way, but it isn't counted as failed.
+ * <p>
+ * A send completes when the binder confirms it. Every lane keeps up to the window size sends in flight and it waits for
+ * the oldest one when the window is full. Only the sends of different keys are pipelined, the next message of a key is
+ * sent after the previous one is confirmed. So a message whose confirm fails is never overtaken by the following
+ * messages of its key.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@Slf4j
+final class PartitionedOutboxMessageSender {
+    private final int laneCount;
+    private final int windowSize;
+    private final ExecutorService executorService;
+
+    PartitionedOutboxMessageSender(int laneCount) {
+        this(laneCount, 1);
+    }
+
+    PartitionedOutboxMessageSender(int laneCount, int windowSize) {
+        this.laneCount = Math.max(laneCount, 1);
+        this.windowSize = Math.max(windowSize, 1);
+        if (this.laneCount > 1) {
+            final var threadFactory = new CustomizableThreadFactory("outbox-relay-");
+            threadFactory.setDaemon(true);
+            this.executorService = Executors.newFixedThreadPool(this.laneCount, threadFactory);
+        } else {
+            this.executorService = null;
+        }
+    }
+
+    OutboxMessageSendResult sendAll(List<OutboxMessage> outboxMessages,
+                                    Function<OutboxMessage, String> orderingKeyExtractor,
+                                    Function<OutboxMessage, CompletableFuture<Void>> sender) {
+        if (Objects.isNull(executorService)) {
+            return sendLane(outboxMessages, orderingKeyExtractor, sender);
+        }
+
+        final var lanes = new ArrayList<List<OutboxMessage>>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        outboxMessages.forEach(outboxMessage -> lanes
+                .get(Math.floorMod(Objects.hashCode(orderingKeyExtractor.apply(outboxMessage)), laneCount))
+                .add(outboxMessage));
+
+        final var laneResults = new ArrayList<Future<OutboxMessageSendResult>>(laneCount);
+        lanes.stream()
+                .filter(lane -> !lane.isEmpty())
+                .forEach(lane -> laneResults.add(executorService.submit(() -> sendLane(lane, orderingKeyExtractor, sender))));
+
+        final var sendResult = new OutboxMessageSendResult();
+        for (final var laneResult : laneResults) {
+            sendResult.merge(await(laneResult));
+        }
+        return sendResult;
+    }
+
+    void shutdown() {
+        if (Objects.nonNull(executorService)) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private OutboxMessageSendResult sendLane(List<OutboxMessage> outboxMessages,
+                                             Function<OutboxMessage, String> orderingKeyExtractor,
+                                             Function<OutboxMessage, CompletableFuture<Void>> sender) {
+        final var lane = new Lane(windowSize);
+        for (final var outboxMessage : outboxMessages) {
+            final var orderingKey = orderingKeyExtractor.apply(outboxMessage);
+            lane.completeInFlightSendOf(orderingKey);
+            if (lane.failedOrderingKeys.contains(orderingKey)) {
+                lane.sendResult.skipped();
+                continue;
+            }
+
+            try {
+                lane.inFlight(new InFlightSend(outboxMessage, orderingKey, sender.apply(outboxMessage)));
+            } catch (OutboxMessageCircuitOpenException exception) {
+                lane.failedOrderingKeys.add(orderingKey);
+                lane.sendResult.skipped();
+            } catch (RuntimeException exception) {
+                lane.failed(outboxMessage, orderingKey, exception);
+            }
+
+            if (lane.inFlightSends.size() >= windowSize) {
+                lane.completeOldest();
+            }
+        }
+        while (!lane.inFlightSends.isEmpty()) {
+            lane.completeOldest();
+        }
+        return lane.sendResult;
+    }
+
+    private static OutboxMessageSendResult await(Future<OutboxMessageSendResult> laneResult) {
+        try {
+            return laneResult.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Outbox relay is interrupted", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Outbox relay lane is failed", exception.getCause());
+        }
+    }
+
+    /**
+     * The sends of a lane. A key has at most one send in flight, so a message is sent only after the previous message of
+     * its key is confirmed.
+     */
+    private static final class Lane {
+        private final OutboxMessageSendResult sendResult = new OutboxMessageSendResult();
+        private final Set<String> failedOrderingKeys = new HashSet<>();
+        private final Set<String> inFlightOrderingKeys = new HashSet<>();
+        private final Deque<InFlightSend> inFlightSends;
+
+        private Lane(int windowSize) {
+            this.inFlightSends = new ArrayDeque<>(windowSize);
+        }
+
+        private void inFlight(InFlightSend inFlightSend) {
+            inFlightSends.add(inFlightSend);
+            inFlightOrderingKeys.add(inFlightSend.orderingKey);
+        }
+
+        /**
+         * The sends are completed oldest first, up to and including the in-flight send of the ordering key.
+         */
+        private void completeInFlightSendOf(String orderingKey) {
+            while (inFlightOrderingKeys.contains(orderingKey)) {
+                completeOldest();
+            }
+        }
+
+        private void completeOldest() {
+            final var inFlightSend = inFlightSends.poll();
+            inFlightOrderingKeys.remove(inFlightSend.orderingKey);
+            try {
+                inFlightSend.confirmation.get();
+                sendResult.sent(inFlightSend.outboxMessage.getId());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                failed(inFlightSend.outboxMessage, inFlightSend.orderingKey, exception);
+            } catch (ExecutionException exception) {
+                failed(inFlightSend.outboxMessage, inFlightSend.orderingKey, exception.getCause());
+            }
+        }
+
+        private void failed(OutboxMessage outboxMessage, String orderingKey, Throwable exception) {
+            log.warn("Outbox message with {} could not be sent", outboxMessage.getId(), exception);
+            failedOrderingKeys.add(orderingKey);
+            sendResult.failed(outboxMessage.getId(), exception.toString());
+        }
+    }
+
+    private static final class InFlightSend {
+        private final OutboxMessage outboxMessage;
+        private final String orderingKey;
+        private final CompletableFuture<Void> confirmation;
+
+        private InFlightSend(OutboxMessage outboxMessage, String orderingKey, CompletableFuture<Void> confirmation) {
+            this.outboxMessage = outboxMessage;
+            this.orderingKey = orderingKey;
+            this.confirmation = confirmation;
+        }
+    }
+}
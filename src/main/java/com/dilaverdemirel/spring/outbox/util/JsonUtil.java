@@ -1,33 +1,34 @@
 package com.dilaverdemirel.spring.outbox.util;
 
 import com.dilaverdemirel.spring.outbox.exception.OutboxMessagePayloadJsonConvertException;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessagePayloadSerializationException;
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.extern.slf4j.Slf4j;
 
 import java.util.Objects;
 
 /**
  * @author dilaverdemirel
  * @since 17.05.2020
+ * @deprecated the payloads are serialized by {@link OutboxMessagePayloadSerializer}, use
+ * {@link OutboxMessagePayloadSerializer#json(ObjectMapper)} instead.
  */
-@Slf4j
+@Deprecated
 public final class JsonUtil {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final OutboxMessagePayloadSerializer JSON_SERIALIZER = OutboxMessagePayloadSerializer.json(new ObjectMapper());
 
     private JsonUtil() {
     }
 
     public static String convertToJson(Object object) {
+        if (Objects.isNull(object)) {
+            return "";
+        }
+
         try {
-            if (Objects.nonNull(object)) {
-                return OBJECT_MAPPER.writeValueAsString(object);
-            }
-        } catch (JsonProcessingException processingException) {
-            log.error(processingException.getMessage(), processingException);
+            return JSON_SERIALIZER.serializeToString(object);
+        } catch (OutboxMessagePayloadSerializationException serializationException) {
             throw new OutboxMessagePayloadJsonConvertException("Object is not eligible to json conversion!");
         }
-
-        return "";
     }
 }
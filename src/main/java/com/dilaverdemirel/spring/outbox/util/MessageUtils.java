@@ -6,6 +6,9 @@ import java.util.Objects;
 
 import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_EXCEPTION_HEADER_PARAMETER_NAME;
 import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_ORDERING_KEY_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME;
 
 /**
  * @author dilaverdemirel
@@ -24,6 +27,15 @@ public final class MessageUtils {
         return null;
     }
 
+    public static String extractSendId(Map<String, Object> messageHeaders) {
+        final var sendIdObject = messageHeaders.get(OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME);
+        if (Objects.nonNull(sendIdObject)) {
+            return sendIdObject.toString();
+        }
+
+        return null;
+    }
+
     public static String extractExceptionStackTrace(Map<String, Object> messageHeaders) {
         final var exceptionObject = messageHeaders.get(OUTBOX_MESSAGE_EXCEPTION_HEADER_PARAMETER_NAME);
         if (Objects.nonNull(exceptionObject)) {
@@ -32,4 +44,28 @@ public final class MessageUtils {
 
         return null;
     }
+
+    public static String extractOrderingKey(Map<String, Object> messageHeaders) {
+        final var orderingKeyObject = messageHeaders.get(OUTBOX_MESSAGE_ORDERING_KEY_HEADER_PARAMETER_NAME);
+        if (Objects.nonNull(orderingKeyObject)) {
+            return orderingKeyObject.toString();
+        }
+
+        return null;
+    }
+
+    /**
+     * Some binders don't keep the header type, so the sequence number may come as a number or as a text.
+     */
+    public static Long extractSequenceNumber(Map<String, Object> messageHeaders) {
+        final var sequenceNumberObject = messageHeaders.get(OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME);
+        if (sequenceNumberObject instanceof Number) {
+            return ((Number) sequenceNumberObject).longValue();
+        }
+        if (Objects.nonNull(sequenceNumberObject)) {
+            return Long.valueOf(sequenceNumberObject.toString());
+        }
+
+        return null;
+    }
 }
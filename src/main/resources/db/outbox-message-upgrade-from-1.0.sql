@@ -0,0 +1,20 @@
+-- Upgrades an outbox_message table which is created for 1.0.x. The new columns are mapped by the entity, so this script
+-- must be run before the application is upgraded, even if the features which fill them are disabled.
+-- The column types are written like the DDL of the README, for exp. use BYTEA instead of BLOB on PostgreSQL.
+
+-- binary payloads, the payload column is empty when the payload is kept as bytes
+ALTER TABLE outbox_message ADD COLUMN binary_payload BLOB;
+-- on MySQL; ALTER TABLE outbox_message MODIFY payload LONGTEXT NULL;
+ALTER TABLE outbox_message ALTER COLUMN payload DROP NOT NULL;
+
+-- retry backoff of the failed messages
+ALTER TABLE outbox_message ADD COLUMN next_attempt_at TIMESTAMP;
+
+-- sequenced messages
+ALTER TABLE outbox_message ADD COLUMN ordering_key VARCHAR(255);
+ALTER TABLE outbox_message ADD COLUMN sequence_number BIGINT;
+CREATE TABLE outbox_message_key_sequence (ordering_key VARCHAR(255) NOT NULL, last_sequence_number BIGINT NOT NULL,
+    PRIMARY KEY (ordering_key));
+
+CREATE INDEX ix_outbox_message_status_created_at ON outbox_message (status, created_at, id);
+CREATE UNIQUE INDEX ux_outbox_message_ordering_key_sequence ON outbox_message (ordering_key, sequence_number);
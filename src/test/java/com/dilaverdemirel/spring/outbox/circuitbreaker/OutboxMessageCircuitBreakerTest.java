@@ -0,0 +1,99 @@
+package com.dilaverdemirel.spring.outbox.circuitbreaker;
+
+import com.dilaverdemirel.spring.outbox.circuitbreaker.OutboxMessageCircuitBreaker.CircuitState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class OutboxMessageCircuitBreakerTest {
+
+    private OutboxMessageCircuitBreaker outboxMessageCircuitBreaker;
+
+    @BeforeEach
+    public void beforeEach() {
+        outboxMessageCircuitBreaker = new OutboxMessageCircuitBreaker();
+        outboxMessageCircuitBreaker.enabled = true;
+        outboxMessageCircuitBreaker.failureThreshold = 3;
+        outboxMessageCircuitBreaker.openDurationInMillis = 60000L;
+    }
+
+    @Test
+    void testRecordFailure_it_should_open_circuit_of_channel_after_consecutive_failures() {
+        //Given
+        outboxMessageCircuitBreaker.recordFailure("channel-1");
+        outboxMessageCircuitBreaker.recordFailure("channel-1");
+        outboxMessageCircuitBreaker.recordSuccess("channel-1");
+        outboxMessageCircuitBreaker.recordFailure("channel-1");
+        outboxMessageCircuitBreaker.recordFailure("channel-1");
+        assertThat(outboxMessageCircuitBreaker.isOpen("channel-1")).isFalse();
+
+        //When
+        outboxMessageCircuitBreaker.recordFailure("channel-1");
+
+        //Then
+        assertThat(outboxMessageCircuitBreaker.getState("channel-1")).isEqualTo(CircuitState.OPEN);
+        assertThat(outboxMessageCircuitBreaker.isOpen("channel-1")).isTrue();
+        assertThat(outboxMessageCircuitBreaker.isOpenForRelay("channel-1")).isTrue();
+        assertThat(outboxMessageCircuitBreaker.isOpen("channel-2")).isFalse();
+        assertThat(outboxMessageCircuitBreaker.isOpenForRelay("channel-2")).isFalse();
+    }
+
+    @Test
+    void testIsOpenForRelay_it_should_let_one_probe_and_close_circuit_when_probe_is_sent() {
+        //Given
+        outboxMessageCircuitBreaker.openDurationInMillis = 0L;
+        openCircuit("channel-1");
+
+        //When
+        final var openForProbe = outboxMessageCircuitBreaker.isOpenForRelay("channel-1");
+
+        //Then
+        assertThat(openForProbe).isFalse();
+        assertThat(outboxMessageCircuitBreaker.getState("channel-1")).isEqualTo(CircuitState.HALF_OPEN);
+        assertThat(outboxMessageCircuitBreaker.isOpen("channel-1")).isTrue();
+
+        outboxMessageCircuitBreaker.recordSuccess("channel-1");
+        assertThat(outboxMessageCircuitBreaker.getState("channel-1")).isEqualTo(CircuitState.CLOSED);
+        assertThat(outboxMessageCircuitBreaker.isOpen("channel-1")).isFalse();
+    }
+
+    @Test
+    void testRecordFailure_it_should_open_circuit_again_when_probe_fails() {
+        //Given
+        outboxMessageCircuitBreaker.openDurationInMillis = 0L;
+        openCircuit("channel-1");
+        assertThat(outboxMessageCircuitBreaker.isOpenForRelay("channel-1")).isFalse();
+        outboxMessageCircuitBreaker.openDurationInMillis = 60000L;
+
+        //When
+        outboxMessageCircuitBreaker.recordFailure("channel-1");
+
+        //Then
+        assertThat(outboxMessageCircuitBreaker.getState("channel-1")).isEqualTo(CircuitState.OPEN);
+        assertThat(outboxMessageCircuitBreaker.isOpenForRelay("channel-1")).isTrue();
+    }
+
+    @Test
+    void testIsOpen_it_should_never_open_circuit_when_it_is_disabled() {
+        //Given
+        outboxMessageCircuitBreaker.enabled = false;
+
+        //When
+        openCircuit("channel-1");
+
+        //Then
+        assertThat(outboxMessageCircuitBreaker.isOpen("channel-1")).isFalse();
+        assertThat(outboxMessageCircuitBreaker.isOpenForRelay("channel-1")).isFalse();
+    }
+
+    private void openCircuit(String channel) {
+        for (int i = 0; i < outboxMessageCircuitBreaker.failureThreshold; i++) {
+            outboxMessageCircuitBreaker.recordFailure(channel);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.dilaverdemirel.spring.outbox.compression;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class OutboxMessagePayloadCompressorTest {
+    private static final String LARGE_PAYLOAD = "{\"items\":[" + "{\"name\":\"item\",\"price\":10},".repeat(100) + "{}]}";
+
+    private OutboxMessagePayloadCompressor outboxMessagePayloadCompressor;
+
+    @BeforeEach
+    public void beforeEach() {
+        outboxMessagePayloadCompressor = new OutboxMessagePayloadCompressor();
+        outboxMessagePayloadCompressor.thresholdInBytes = 1024;
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = OutboxMessagePayloadCodec.class, names = {"GZIP", "LZ4", "ZSTD"})
+    void testCompress_it_should_compress_payload_with_marker_and_decompress_it_back(OutboxMessagePayloadCodec codec) {
+        //Given
+        outboxMessagePayloadCompressor.codec = codec;
+        outboxMessagePayloadCompressor.afterPropertiesSet();
+
+        //When
+        final var compressedPayload = outboxMessagePayloadCompressor.compress(LARGE_PAYLOAD);
+
+        //Then
+        assertThat(compressedPayload).startsWith(codec.getMarker());
+        assertThat(compressedPayload.length()).isLessThan(LARGE_PAYLOAD.length() / 4);
+        assertThat(outboxMessagePayloadCompressor.decompress(compressedPayload)).isEqualTo(LARGE_PAYLOAD);
+    }
+
+    @Test
+    void testCompress_it_should_not_compress_payload_below_threshold() {
+        //Given
+        outboxMessagePayloadCompressor.codec = OutboxMessagePayloadCodec.GZIP;
+        final var payload = "{\"name\":\"item\"}";
+
+        //When
+        final var compressedPayload = outboxMessagePayloadCompressor.compress(payload);
+
+        //Then
+        assertThat(compressedPayload).isSameAs(payload);
+    }
+
+    @Test
+    void testCompress_it_should_keep_payload_below_threshold_as_plain_text_and_read_it_back() {
+        //Given
+        outboxMessagePayloadCompressor.codec = OutboxMessagePayloadCodec.GZIP;
+        final var payload = "{\"items\":[" + "{\"name\":\"item\",\"price\":10},".repeat(30) + "{}]}";
+
+        //When
+        final var storedPayload = outboxMessagePayloadCompressor.compress(payload);
+
+        //Then
+        assertThat(payload.getBytes(StandardCharsets.UTF_8)).hasSizeLessThan(1024);
+        assertThat(storedPayload).isEqualTo(payload);
+        assertThat(outboxMessagePayloadCompressor.decompress(storedPayload)).isEqualTo(payload);
+    }
+
+    @Test
+    void testCompress_it_should_keep_payload_as_plain_text_when_compressed_payload_is_not_smaller() {
+        //Given
+        outboxMessagePayloadCompressor.codec = OutboxMessagePayloadCodec.GZIP;
+        final var random = new Random(17);
+        final var payload = "\"" + IntStream.range(0, 2048)
+                .mapToObj(index -> String.valueOf((char) ('!' + random.nextInt(90))))
+                .collect(Collectors.joining()).replace("\"", "'").replace("\\", "/") + "\"";
+
+        //When
+        final var storedPayload = outboxMessagePayloadCompressor.compress(payload);
+
+        //Then
+        assertThat(storedPayload).isSameAs(payload);
+        assertThat(outboxMessagePayloadCompressor.decompress(storedPayload)).isEqualTo(payload);
+    }
+
+    @Test
+    void testDecompress_it_should_return_plain_payload_when_compression_is_disabled() {
+        //Given
+        outboxMessagePayloadCompressor.codec = OutboxMessagePayloadCodec.GZIP;
+        final var compressedPayload = outboxMessagePayloadCompressor.compress(LARGE_PAYLOAD);
+        outboxMessagePayloadCompressor.codec = OutboxMessagePayloadCodec.NONE;
+
+        //When
+        final var plainPayload = outboxMessagePayloadCompressor.compress(LARGE_PAYLOAD);
+
+        //Then
+        assertThat(plainPayload).isSameAs(LARGE_PAYLOAD);
+        assertThat(outboxMessagePayloadCompressor.decompress(plainPayload)).isSameAs(LARGE_PAYLOAD);
+        assertThat(outboxMessagePayloadCompressor.decompress(compressedPayload)).isEqualTo(LARGE_PAYLOAD);
+    }
+
+    @Test
+    void testCompress_it_should_compress_binary_payload_with_marker_bytes_and_decompress_it_back() {
+        //Given
+        outboxMessagePayloadCompressor.codec = OutboxMessagePayloadCodec.GZIP;
+        final var payload = LARGE_PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+        //When
+        final var compressedPayload = outboxMessagePayloadCompressor.compress(payload);
+
+        //Then
+        assertThat(new String(compressedPayload, 0, 6, StandardCharsets.US_ASCII)).isEqualTo("{gzip}");
+        assertThat(compressedPayload.length).isLessThan(payload.length / 4);
+        assertThat(outboxMessagePayloadCompressor.decompress(compressedPayload)).isEqualTo(payload);
+        assertThat(outboxMessagePayloadCompressor.decompress(payload)).isSameAs(payload);
+    }
+}
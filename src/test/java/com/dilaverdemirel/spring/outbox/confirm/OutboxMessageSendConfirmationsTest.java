@@ -0,0 +1,108 @@
+package com.dilaverdemirel.spring.outbox.confirm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxMessageSendConfirmationsTest {
+
+    @Mock
+    private BeanFactory beanFactory;
+
+    private OutboxMessageSendConfirmations outboxMessageSendConfirmations;
+
+    @BeforeEach
+    public void beforeEach() {
+        outboxMessageSendConfirmations = new OutboxMessageSendConfirmations(beanFactory);
+        outboxMessageSendConfirmations.enabled = true;
+        outboxMessageSendConfirmations.timeoutInMillis = 10000L;
+    }
+
+    @Test
+    void testHandleMessage_it_should_confirm_send_when_ack_message_carries_sent_message() throws Exception {
+        //Given
+        final var confirmation = outboxMessageSendConfirmations.register("send-1");
+        final var sentMessage = MessageBuilder.withPayload("{}")
+                .setHeader(OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME, "send-1")
+                .build();
+
+        //When
+        outboxMessageSendConfirmations.handleMessage(MessageBuilder.withPayload(sentMessage).build());
+
+        //Then
+        assertThat(confirmation.get()).isNull();
+        assertThat(outboxMessageSendConfirmations.getPendingConfirmationCount()).isZero();
+    }
+
+    @Test
+    void testHandleMessage_it_should_fail_send_when_error_message_carries_failed_message() {
+        //Given
+        final var confirmation = outboxMessageSendConfirmations.register("send-1");
+        final var failedMessage = MessageBuilder.withPayload("{}")
+                .setHeader(OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME, "send-1")
+                .build();
+
+        //When
+        outboxMessageSendConfirmations.handleMessage(
+                new ErrorMessage(new MessageDeliveryException(failedMessage, "nacked")));
+
+        //Then
+        assertThatThrownBy(confirmation::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(MessageDeliveryException.class);
+        assertThat(outboxMessageSendConfirmations.getPendingConfirmationCount()).isZero();
+    }
+
+    @Test
+    void testHandleMessage_it_should_confirm_only_its_own_send_when_same_message_is_sent_twice() throws Exception {
+        //Given
+        final var firstConfirmation = outboxMessageSendConfirmations.register("send-1");
+        final var retryConfirmation = outboxMessageSendConfirmations.register("send-2");
+        final var retriedMessage = MessageBuilder.withPayload("{}")
+                .setHeader(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME, "message-1")
+                .setHeader(OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME, "send-2")
+                .build();
+
+        //When
+        outboxMessageSendConfirmations.handleMessage(MessageBuilder.withPayload(retriedMessage).build());
+
+        //Then
+        assertThat(retryConfirmation.get()).isNull();
+        assertThat(firstConfirmation).isNotDone();
+        assertThat(outboxMessageSendConfirmations.getPendingConfirmationCount()).isOne();
+    }
+
+    @Test
+    void testRegister_it_should_fail_send_when_it_is_not_confirmed_in_time() {
+        //Given
+        outboxMessageSendConfirmations.timeoutInMillis = 10L;
+
+        //When
+        final var confirmation = outboxMessageSendConfirmations.register("send-1");
+
+        //Then
+        assertThatThrownBy(confirmation::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(outboxMessageSendConfirmations.getPendingConfirmationCount()).isZero();
+    }
+}
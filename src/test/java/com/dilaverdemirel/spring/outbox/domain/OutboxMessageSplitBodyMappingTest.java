@@ -0,0 +1,185 @@
+package com.dilaverdemirel.spring.outbox.domain;
+
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class OutboxMessageSplitBodyMappingTest {
+    private static final String MAPPING_RESOURCE = "META-INF/outbox-message-split-body-orm.xml";
+    private static final List<String> EXECUTED_STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private EntityManagerFactory entityManagerFactory;
+    private OutboxMessageRepository outboxMessageRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void beforeEach() {
+        applicationContext = new AnnotationConfigApplicationContext(SplitBodyTestConfiguration.class);
+        entityManagerFactory = applicationContext.getBean(EntityManagerFactory.class);
+        outboxMessageRepository = applicationContext.getBean(OutboxMessageRepository.class);
+        transactionTemplate = new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = new JdbcTemplate(applicationContext.getBean(DataSource.class));
+        EXECUTED_STATEMENTS.clear();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        applicationContext.close();
+    }
+
+    @Test
+    void testMapping_it_should_keep_payload_in_body_table_and_status_columns_in_message_table() {
+        //Given
+        final var outboxMessage = getOutboxMessage("message-1");
+
+        //When
+        persist(outboxMessage);
+
+        //Then
+        assertThat(columnNamesOf("OUTBOX_MESSAGE"))
+                .contains("ID", "STATUS", "RETRY_COUNT", "CREATED_AT", "NEXT_ATTEMPT_AT")
+                .doesNotContain("PAYLOAD", "BINARY_PAYLOAD");
+        assertThat(columnNamesOf("OUTBOX_MESSAGE_BODY")).containsExactlyInAnyOrder("ID", "PAYLOAD", "BINARY_PAYLOAD");
+        assertThat(jdbcTemplate.queryForObject("select payload from outbox_message_body where id = 'message-1'", String.class))
+                .isEqualTo(outboxMessage.getPayload());
+
+        final var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            assertThat(entityManager.find(OutboxMessage.class, "message-1").getPayload()).isEqualTo(outboxMessage.getPayload());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Test
+    void testStatusUpdates_it_should_update_status_columns_without_writing_body_table() {
+        //Given
+        List.of("message-1", "message-2", "message-3", "message-4", "message-5").forEach(id -> persist(getOutboxMessage(id)));
+        final var now = LocalDateTime.now();
+        EXECUTED_STATEMENTS.clear();
+
+        //When
+        final var updatedRowCount = transactionTemplate.execute(status ->
+                outboxMessageRepository.markAsSent("message-1", now)
+                        + outboxMessageRepository.markAllAsSent(List.of("message-2"), now)
+                        + outboxMessageRepository.markAsFailed("message-3", "error", now.plusMinutes(1))
+                        + outboxMessageRepository.markAllAsFailed(List.of("message-4"), "error", now.plusMinutes(1))
+                        + outboxMessageRepository.markAllAsFailedWithoutRetry(List.of("message-5"), "error", now.plusMinutes(1)));
+
+        //Then
+        assertThat(updatedRowCount).isEqualTo(5);
+        assertThat(EXECUTED_STATEMENTS).filteredOn(sql -> sql.toLowerCase().startsWith("update"))
+                .hasSize(5)
+                .allSatisfy(sql -> assertThat(sql.toLowerCase())
+                        .startsWith("update outbox_message set")
+                        .doesNotContain("outbox_message_body"));
+        assertThat(jdbcTemplate.queryForList("select status from outbox_message order by id", String.class))
+                .containsExactly("SENT", "SENT", "FAILED", "FAILED", "FAILED");
+        assertThat(jdbcTemplate.queryForList("select retry_count from outbox_message order by id", Integer.class))
+                .containsExactly(0, 0, -1, 0, -1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_message_body where payload is not null", Integer.class))
+                .isEqualTo(5);
+    }
+
+    private OutboxMessage getOutboxMessage(String id) {
+        return OutboxMessage.builder()
+                .id(id)
+                .source("source")
+                .sourceId("source-id")
+                .channel("channel-1")
+                .payload("{\"id\":\"content-id-1\"}")
+                .messageClass("message-class")
+                .status(OutboxMessageStatus.NEW)
+                .retryCount(-1)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void persist(OutboxMessage outboxMessage) {
+        final var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.persist(outboxMessage);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private List<String> columnNamesOf(String tableName) {
+        return jdbcTemplate.queryForList("select column_name from information_schema.columns where table_name = ?",
+                String.class, tableName);
+    }
+
+    /**
+     * Records the statements which Hibernate sends to the database.
+     */
+    public static class StatementRecorder implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            EXECUTED_STATEMENTS.add(sql.trim());
+            return sql;
+        }
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = OutboxMessageRepository.class)
+    static class SplitBodyTestConfiguration {
+
+        @Bean
+        public DataSource dataSource() {
+            final var dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:outbox-split-body-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            return dataSource;
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            final var entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+            entityManagerFactoryBean.setDataSource(dataSource);
+            entityManagerFactoryBean.setPackagesToScan(OutboxMessage.class.getPackageName());
+            entityManagerFactoryBean.setMappingResources(MAPPING_RESOURCE);
+            entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            entityManagerFactoryBean.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "create",
+                    "hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+                    "hibernate.session_factory.statement_inspector", StatementRecorder.class.getName()));
+            return entityManagerFactoryBean;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.dilaverdemirel.spring.outbox.domain;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class OutboxMessageUpgradeScriptTest {
+    private static final String UPGRADE_SCRIPT = "db/outbox-message-upgrade-from-1.0.sql";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+
+    @BeforeEach
+    public void beforeEach() {
+        final var h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:outbox-upgrade-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource = h2DataSource;
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE outbox_message (id VARCHAR(255) NOT NULL, channel VARCHAR(255) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL, message_class VARCHAR(255) NOT NULL, payload CLOB NOT NULL, "
+                + "sent_at TIMESTAMP, source VARCHAR(255) NOT NULL, source_id VARCHAR(255) NOT NULL, "
+                + "status VARCHAR(6) NOT NULL, retry_count INT NOT NULL, status_message CLOB, PRIMARY KEY (id))");
+    }
+
+    @AfterEach
+    public void afterEach() {
+        if (entityManagerFactoryBean != null) {
+            entityManagerFactoryBean.destroy();
+        }
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testUpgradeScript_it_should_make_table_of_previous_version_valid_for_current_mapping() {
+        //Given
+        jdbcTemplate.update("INSERT INTO outbox_message VALUES ('message-1', 'channel-1', CURRENT_TIMESTAMP, 'message-class', "
+                + "'{}', NULL, 'source', 'source-id', 'FAILED', 1, 'error')");
+
+        //When
+        new ResourceDatabasePopulator(new ClassPathResource(UPGRADE_SCRIPT)).execute(dataSource);
+        createEntityManagerFactory();
+
+        //Then
+        final var entityManager = entityManagerFactoryBean.getObject().createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            assertThat(entityManager.find(OutboxMessage.class, "message-1").getNextAttemptAt()).isNull();
+            entityManager.persist(OutboxMessage.builder()
+                    .id("message-2")
+                    .source("source")
+                    .sourceId("source-id")
+                    .channel("channel-1")
+                    .binaryPayload(new byte[]{1, 2})
+                    .messageClass("message-class")
+                    .status(OutboxMessageStatus.NEW)
+                    .retryCount(-1)
+                    .orderingKey("key-1")
+                    .sequenceNumber(1L)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            entityManager.persist(new OutboxMessageKeySequence("key-1", 1L));
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_message", Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_message_key_sequence", Integer.class)).isEqualTo(1);
+    }
+
+    private void createEntityManagerFactory() {
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(dataSource);
+        entityManagerFactoryBean.setPackagesToScan(OutboxMessage.class.getPackageName());
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "none",
+                "hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy"));
+        entityManagerFactoryBean.afterPropertiesSet();
+    }
+}
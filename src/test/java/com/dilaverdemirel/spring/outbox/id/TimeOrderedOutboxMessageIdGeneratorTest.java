@@ -0,0 +1,61 @@
+package com.dilaverdemirel.spring.outbox.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class TimeOrderedOutboxMessageIdGeneratorTest {
+
+    @Test
+    void testGenerate_it_should_generate_uuid_version_7_with_current_timestamp() {
+        //Given
+        final var currentTimeMillis = 1_792_281_600_000L;
+        final var idGenerator = new TimeOrderedOutboxMessageIdGenerator(() -> currentTimeMillis);
+
+        //When
+        final var id = UUID.fromString(idGenerator.generate());
+
+        //Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(currentTimeMillis);
+    }
+
+    @Test
+    void testGenerate_it_should_generate_ids_in_increasing_string_order_when_they_are_in_same_millisecond() {
+        //Given
+        final var idGenerator = new TimeOrderedOutboxMessageIdGenerator(() -> 1_792_281_600_000L);
+        final var ids = new ArrayList<String>();
+
+        //When
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(idGenerator.generate());
+        }
+
+        //Then
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ids).allMatch(id -> id.length() == 36);
+    }
+
+    @Test
+    void testGenerate_it_should_keep_order_when_clock_goes_back() {
+        //Given
+        final var clock = new long[]{1_792_281_600_000L};
+        final var idGenerator = new TimeOrderedOutboxMessageIdGenerator(() -> clock[0]);
+
+        //When
+        final var firstId = idGenerator.generate();
+        clock[0] = clock[0] - 1000;
+        final var secondId = idGenerator.generate();
+
+        //Then
+        assertThat(secondId).isGreaterThan(firstId);
+    }
+}
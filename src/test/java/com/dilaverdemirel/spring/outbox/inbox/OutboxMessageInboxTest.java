@@ -0,0 +1,208 @@
+package com.dilaverdemirel.spring.outbox.inbox;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxMessageInboxTest {
+
+    @Mock
+    private ObjectProvider<DataSource> dataSourceProvider;
+
+    @Mock
+    private ObjectProvider<PlatformTransactionManager> transactionManagerProvider;
+
+    private JdbcTemplate jdbcTemplate;
+    private OutboxMessageInbox outboxMessageInbox;
+
+    @BeforeEach
+    public void beforeEach() {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outbox-inbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE processed_message (id VARCHAR(36) PRIMARY KEY, processed_at TIMESTAMP NOT NULL)");
+        lenient().when(dataSourceProvider.getIfAvailable()).thenReturn(dataSource);
+        lenient().when(transactionManagerProvider.getIfUnique(any())).thenReturn(new DataSourceTransactionManager(dataSource));
+        outboxMessageInbox = createInbox(2);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testDeduplicatingConsumer_it_should_drop_message_when_it_is_received_again() {
+        //Given
+        final var processedPayloads = new ArrayList<String>();
+        final var consumer = outboxMessageInbox.<String>deduplicatingConsumer(message -> processedPayloads.add(message.getPayload()));
+
+        //When
+        consumer.accept(message("message-1", "first"));
+        consumer.accept(message("message-1", "again"));
+        consumer.accept(MessageBuilder.withPayload("without-id").build());
+        consumer.accept(MessageBuilder.withPayload("without-id").build());
+
+        //Then
+        assertThat(processedPayloads).containsExactly("first", "without-id", "without-id");
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM processed_message", String.class)).containsExactly("message-1");
+    }
+
+    @Test
+    void testDeduplicatingFunction_it_should_find_processed_message_from_table_when_it_is_not_in_cache() {
+        //Given
+        final var function = outboxMessageInbox.<String, String>deduplicatingFunction(message -> message.getPayload().toUpperCase());
+        assertThat(function.apply(message("message-1", "first"))).isEqualTo("FIRST");
+        assertThat(function.apply(message("message-2", "second"))).isEqualTo("SECOND");
+        final var otherInstanceInbox = createInbox(1);
+
+        //When
+        final var result = otherInstanceInbox.<String, String>deduplicatingFunction(message -> message.getPayload().toUpperCase())
+                .apply(message("message-1", "again"));
+
+        //Then
+        assertThat(result).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_message", Integer.class)).isEqualTo(2);
+        assertThat(otherInstanceInbox.getCachedIdCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testDeduplicatingConsumer_it_should_not_mark_message_as_processed_when_consumer_fails() {
+        //Given
+        final var processedPayloads = new ArrayList<String>();
+        final var failingConsumer = outboxMessageInbox.<String>deduplicatingConsumer(message -> {
+            throw new IllegalStateException("consumer failed");
+        });
+        final var consumer = outboxMessageInbox.<String>deduplicatingConsumer(message -> processedPayloads.add(message.getPayload()));
+
+        //When
+        assertThatThrownBy(() -> failingConsumer.accept(message("message-1", "first"))).isInstanceOf(IllegalStateException.class);
+        final var cachedIdCountAfterFailure = outboxMessageInbox.getCachedIdCount();
+        consumer.accept(message("message-1", "again"));
+
+        //Then
+        assertThat(cachedIdCountAfterFailure).isZero();
+        assertThat(processedPayloads).containsExactly("again");
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM processed_message", String.class)).containsExactly("message-1");
+        assertThat(outboxMessageInbox.getCachedIdCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testDeduplicatingBatchConsumer_it_should_insert_ids_of_batch_and_drop_duplicates_in_it() {
+        //Given
+        final var processedBatches = new ArrayList<List<String>>();
+        final var consumer = createInbox(10).<String>deduplicatingBatchConsumer(messages -> processedBatches.add(payloadsOf(messages)));
+
+        //When
+        consumer.accept(List.of(message("message-1", "first"), message("message-2", "second"), message("message-1", "again"),
+                MessageBuilder.withPayload("without-id").build()));
+        consumer.accept(List.of(message("message-2", "again")));
+
+        //Then
+        assertThat(processedBatches).containsExactly(List.of("first", "second", "without-id"));
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM processed_message", String.class))
+                .containsExactlyInAnyOrder("message-1", "message-2");
+    }
+
+    @Test
+    void testDeduplicatingBatchConsumer_it_should_insert_ids_one_by_one_when_batch_has_processed_message() {
+        //Given
+        outboxMessageInbox.<String>deduplicatingConsumer(message -> { }).accept(message("message-2", "second"));
+        final var otherInstanceInbox = createInbox(10);
+        final var processedBatches = new ArrayList<List<String>>();
+        final var consumer = otherInstanceInbox.<String>deduplicatingBatchConsumer(messages -> processedBatches.add(payloadsOf(messages)));
+
+        //When
+        consumer.accept(List.of(message("message-1", "first"), message("message-2", "again"), message("message-3", "third")));
+
+        //Then
+        assertThat(processedBatches).containsExactly(List.of("first", "third"));
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM processed_message", String.class))
+                .containsExactlyInAnyOrder("message-1", "message-2", "message-3");
+        assertThat(otherInstanceInbox.getCachedIdCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testDeduplicatingBatchConsumer_it_should_not_mark_batch_as_processed_when_consumer_fails() {
+        //Given
+        final var consumer = outboxMessageInbox.<String>deduplicatingBatchConsumer(messages -> {
+            throw new IllegalStateException("consumer failed");
+        });
+
+        //When
+        assertThatThrownBy(() -> consumer.accept(List.of(message("message-1", "first"), message("message-2", "second"))))
+                .isInstanceOf(IllegalStateException.class);
+
+        //Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_message", Integer.class)).isZero();
+        assertThat(outboxMessageInbox.getCachedIdCount()).isZero();
+    }
+
+    @Test
+    void testOutboxMessageInbox_it_should_be_created_only_when_inbox_is_enabled() {
+        //Given
+        final var disabledContext = new AnnotationConfigApplicationContext();
+        final var enabledContext = new AnnotationConfigApplicationContext();
+        enabledContext.getEnvironment().getPropertySources()
+                .addFirst(new MapPropertySource("inbox", Map.of("dilaverdemirel.spring.outbox.inbox.enabled", "true")));
+
+        //When
+        disabledContext.register(OutboxMessageInbox.class);
+        disabledContext.refresh();
+        enabledContext.register(OutboxMessageInbox.class);
+        enabledContext.refresh();
+
+        //Then
+        assertThat(disabledContext.getBeansOfType(OutboxMessageInbox.class)).isEmpty();
+        assertThat(enabledContext.getBeansOfType(OutboxMessageInbox.class)).hasSize(1);
+        disabledContext.close();
+        enabledContext.close();
+    }
+
+    private OutboxMessageInbox createInbox(int cacheSize) {
+        final var inbox = new OutboxMessageInbox(dataSourceProvider, transactionManagerProvider);
+        inbox.cacheSize = cacheSize;
+        inbox.afterPropertiesSet();
+        return inbox;
+    }
+
+    private static List<String> payloadsOf(List<Message<String>> messages) {
+        return messages.stream().map(Message::getPayload).collect(Collectors.toList());
+    }
+
+    private static Message<String> message(String id, String payload) {
+        return MessageBuilder.withPayload(payload)
+                .setHeader(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME, id)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.dilaverdemirel.spring.outbox.listener;
+
+import com.dilaverdemirel.spring.outbox.service.FailedOutboxMessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_EXCEPTION_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchingOutboxMessageErrorHandlerTest {
+
+    @Mock
+    private FailedOutboxMessageService failedOutboxMessageService;
+
+    @Mock
+    private BeanFactory beanFactory;
+
+    private BatchingOutboxMessageErrorHandler batchingOutboxMessageErrorHandler;
+
+    @BeforeEach
+    public void beforeEach() {
+        batchingOutboxMessageErrorHandler = new BatchingOutboxMessageErrorHandler(failedOutboxMessageService, beanFactory);
+        batchingOutboxMessageErrorHandler.enabled = true;
+        batchingOutboxMessageErrorHandler.maxSize = 2;
+        batchingOutboxMessageErrorHandler.windowInMillis = 60000L;
+    }
+
+    @AfterEach
+    public void afterEach() {
+        batchingOutboxMessageErrorHandler.destroy();
+    }
+
+    @Test
+    void testHandleMessage_it_should_mark_all_messages_together_when_batch_is_full() {
+        //Given
+        final var exception1 = new MessageDeliveryException(failedMessage("message-1"), "broker is down");
+        final var exception2 = new MessageDeliveryException(failedMessage("message-2"), "broker is down");
+
+        //When
+        batchingOutboxMessageErrorHandler.handleMessage(new ErrorMessage(exception1));
+        batchingOutboxMessageErrorHandler.handleMessage(new ErrorMessage(exception2));
+
+        //Then
+        verify(failedOutboxMessageService).markAllAsFailedWithExceptionMessages(
+                Map.of("message-1", exception1.toString(), "message-2", exception2.toString()));
+    }
+
+    @Test
+    void testHandleMessage_it_should_mark_dead_lettered_message_when_window_ends() {
+        //Given
+        batchingOutboxMessageErrorHandler.windowInMillis = 10L;
+        final var deadLetteredMessage = MessageBuilder.withPayload("{}")
+                .setHeader(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME, "message-1")
+                .setHeader(OUTBOX_MESSAGE_EXCEPTION_HEADER_PARAMETER_NAME, "stacktrace")
+                .build();
+
+        //When
+        batchingOutboxMessageErrorHandler.handleMessage(deadLetteredMessage);
+
+        //Then
+        verify(failedOutboxMessageService, timeout(5000)).markAllAsFailedWithExceptionMessages(Map.of("message-1", "stacktrace"));
+    }
+
+    @Test
+    void testHandleMessage_it_should_ignore_message_when_it_is_not_an_outbox_message() {
+        //When
+        batchingOutboxMessageErrorHandler.handleMessage(new ErrorMessage(new IllegalStateException("failed")));
+        batchingOutboxMessageErrorHandler.flush();
+
+        //Then
+        verify(failedOutboxMessageService, never()).markAllAsFailedWithExceptionMessages(any());
+        verifyNoInteractions(beanFactory);
+    }
+
+    private static Message<String> failedMessage(String id) {
+        return MessageBuilder.withPayload("{}")
+                .setHeader(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME, id)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.dilaverdemirel.spring.outbox.listener;
+
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessagePublishFailedEvent;
+import com.dilaverdemirel.spring.outbox.service.FailedOutboxMessageService;
+import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxMessageDispatcherTest {
+
+    @Mock
+    private OutboxMessagePublisherService outboxMessagePublisherService;
+
+    @Mock
+    private FailedOutboxMessageService failedOutboxMessageService;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxMessageDispatcher outboxMessageDispatcher;
+
+    @BeforeEach
+    public void beforeEach() {
+        outboxMessageDispatcher = new OutboxMessageDispatcher(outboxMessagePublisherService, failedOutboxMessageService,
+                applicationEventPublisher, transactionManager);
+        outboxMessageDispatcher.queueCapacity = 1;
+        outboxMessageDispatcher.threadCount = 1;
+        outboxMessageDispatcher.threadType = OutboxMessageDispatcher.ThreadType.VIRTUAL;
+        outboxMessageDispatcher.queueFullPolicy = OutboxMessageDispatcher.QueueFullPolicy.FALLBACK_TO_RELAY;
+    }
+
+    @AfterEach
+    public void afterEach() throws InterruptedException {
+        outboxMessageDispatcher.destroy();
+    }
+
+    @Test
+    void testDispatch_it_should_publish_in_new_transaction_on_caller_thread_when_async_is_disabled() {
+        //Given
+        outboxMessageDispatcher.afterPropertiesSet();
+        final var outboxMessageEventMetaData = getMetaData("message-1");
+
+        //When
+        outboxMessageDispatcher.dispatch(outboxMessageEventMetaData);
+
+        //Then
+        verify(outboxMessagePublisherService).publish(outboxMessageEventMetaData);
+        final var transactionDefinitionAC = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(transactionDefinitionAC.capture());
+        assertThat(transactionDefinitionAC.getValue().getPropagationBehavior())
+                .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void testDispatch_it_should_publish_on_dispatcher_thread_when_async_is_enabled() {
+        //Given
+        outboxMessageDispatcher.asyncEnabled = true;
+        outboxMessageDispatcher.afterPropertiesSet();
+        final var outboxMessageEventMetaData = getMetaData("message-1");
+
+        //When
+        outboxMessageDispatcher.dispatch(outboxMessageEventMetaData);
+
+        //Then
+        verify(outboxMessagePublisherService, timeout(1000)).publish(outboxMessageEventMetaData);
+    }
+
+    @Test
+    void testDispatch_it_should_leave_message_for_relay_when_queue_is_full() throws InterruptedException {
+        //Given
+        outboxMessageDispatcher.asyncEnabled = true;
+        outboxMessageDispatcher.afterPropertiesSet();
+        final var publishStarted = new CountDownLatch(1);
+        final var releasePublish = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            publishStarted.countDown();
+            releasePublish.await(1, TimeUnit.SECONDS);
+            return null;
+        }).when(outboxMessagePublisherService).publish(any(OutboxMessageEventMetaData.class));
+
+        final var runningMessage = getMetaData("message-1");
+        final var queuedMessage = getMetaData("message-2");
+        final var rejectedMessage = getMetaData("message-3");
+
+        //When
+        outboxMessageDispatcher.dispatch(runningMessage);
+        assertThat(publishStarted.await(1, TimeUnit.SECONDS)).isTrue();
+        outboxMessageDispatcher.dispatch(queuedMessage);
+        outboxMessageDispatcher.dispatch(rejectedMessage);
+        releasePublish.countDown();
+
+        //Then
+        verify(outboxMessagePublisherService, timeout(1000)).publish(queuedMessage);
+        verify(outboxMessagePublisherService, after(100).never()).publish(rejectedMessage);
+    }
+
+    @Test
+    void testDispatch_it_should_not_propagate_publish_exception_when_async_is_enabled() {
+        //Given
+        outboxMessageDispatcher.asyncEnabled = true;
+        outboxMessageDispatcher.afterPropertiesSet();
+        final var failedMessage = getMetaData("message-1");
+        final var nextMessage = getMetaData("message-2");
+        doAnswer(invocation -> {
+            throw new IllegalStateException("broker is down");
+        }).when(outboxMessagePublisherService).publish(failedMessage);
+
+        //When
+        outboxMessageDispatcher.dispatch(failedMessage);
+        outboxMessageDispatcher.dispatch(nextMessage);
+
+        //Then
+        verify(outboxMessagePublisherService, timeout(1000)).publish(nextMessage);
+        verify(transactionManager, timeout(1000)).rollback(any());
+    }
+
+    @Test
+    void testDispatch_it_should_mark_message_as_failed_and_wake_relay_up_without_propagating_exception_when_publish_fails() {
+        //Given
+        outboxMessageDispatcher.afterPropertiesSet();
+        final var failedMessage = getMetaData("message-1");
+        final var exception = new IllegalStateException("broker is down");
+        final var nextAttemptAt = LocalDateTime.now().plusSeconds(2);
+        doThrow(exception).when(outboxMessagePublisherService).publish(failedMessage);
+        when(failedOutboxMessageService.markAsFailedWithExceptionMessage("message-1", exception.toString()))
+                .thenReturn(Optional.of(nextAttemptAt));
+
+        //When
+        outboxMessageDispatcher.dispatch(failedMessage);
+
+        //Then
+        verify(failedOutboxMessageService).markAsFailedWithExceptionMessage("message-1", exception.toString());
+        final var eventArgumentCaptor = ArgumentCaptor.forClass(OutboxMessagePublishFailedEvent.class);
+        verify(applicationEventPublisher).publishEvent(eventArgumentCaptor.capture());
+        assertThat(eventArgumentCaptor.getValue().getMessageId()).isEqualTo("message-1");
+        assertThat(eventArgumentCaptor.getValue().getNextAttemptAt()).isEqualTo(nextAttemptAt);
+    }
+
+    private OutboxMessageEventMetaData getMetaData(String messageId) {
+        return OutboxMessageEventMetaData.builder().messageId(messageId).build();
+    }
+}
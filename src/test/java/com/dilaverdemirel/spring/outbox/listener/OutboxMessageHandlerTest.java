@@ -1,31 +1,51 @@
 package com.dilaverdemirel.spring.outbox.listener;
 
+import com.dilaverdemirel.spring.outbox.compression.OutboxMessagePayloadCompressor;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
 import com.dilaverdemirel.spring.outbox.dto.DummyMessagePayload;
 import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEvent;
 import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
 import com.dilaverdemirel.spring.outbox.exception.OutboxMessageValidationException;
+import com.dilaverdemirel.spring.outbox.id.OutboxMessageIdGenerator;
+import com.dilaverdemirel.spring.outbox.metrics.OutboxMessageMetrics;
 import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadFormat;
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -39,12 +59,49 @@ class OutboxMessageHandlerTest {
     @Mock
     private OutboxMessageRepository outboxMessageRepository;
 
+    @Captor
+    private ArgumentCaptor<Collection<OutboxMessage>> savedMessagesArgumentCaptor;
+
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
-    @InjectMocks
+    @Mock
+    private ObjectProvider<OutboxMessageIdGenerator> outboxMessageIdGeneratorProvider;
+
+    @Mock
+    private OutboxMessagePayloadCompressor outboxMessagePayloadCompressor;
+
+    @Mock
+    private ObjectProvider<OutboxMessagePayloadSerializer> outboxMessagePayloadSerializerProvider;
+
+    @Mock
+    private ObjectProvider<ObjectMapper> objectMapperProvider;
+
+    @Mock
+    private OutboxMessageMetrics outboxMessageMetrics;
+
     private OutboxMessageHandler outboxMessageHandler;
 
+    @BeforeEach
+    public void beforeEach() {
+        when(outboxMessageIdGeneratorProvider.getIfAvailable(any())).thenReturn(OutboxMessageIdGenerator.timeOrdered());
+        lenient().when(outboxMessagePayloadCompressor.compress(any(String.class))).thenAnswer(returnsFirstArg());
+        lenient().when(outboxMessagePayloadCompressor.compress(any(byte[].class))).thenAnswer(returnsFirstArg());
+        when(outboxMessagePayloadSerializerProvider.getIfAvailable(any()))
+                .thenReturn(OutboxMessagePayloadSerializer.json(OBJECT_MAPPER));
+        outboxMessageHandler = new OutboxMessageHandler(outboxMessageRepository, applicationEventPublisher,
+                outboxMessageIdGeneratorProvider, outboxMessagePayloadCompressor, outboxMessagePayloadSerializerProvider,
+                objectMapperProvider, outboxMessageMetrics);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     private static Stream<OutboxMessageEvent> provideEventsForValidationException() {
         return Stream.of(
                 OutboxMessageEvent.builder()
@@ -71,36 +128,42 @@ class OutboxMessageHandlerTest {
     @Test
     public void testOnOutboxMessageCreate_it_should_save_and_publish_meta_event_message_when_event_is_valid() throws IOException {
         //Given
+        outboxMessageHandler.snapshotPublishEnabled = true;
         final var messagePayload = getDummyMessagePayload();
         final var outboxMessageEvent = getOutboxMessageEvent(messagePayload);
-        final var mockOutboxMessage = OutboxMessage.builder().id("message-1").build();
-        when(outboxMessageRepository.save(any(OutboxMessage.class))).thenReturn(mockOutboxMessage);
 
         //When
         outboxMessageHandler.onOutboxMessageCreate(outboxMessageEvent);
+        triggerBeforeCommit();
 
         //Then
+        verify(outboxMessageRepository).insertAll(savedMessagesArgumentCaptor.capture());
+        assertThat(savedMessagesArgumentCaptor.getValue()).hasSize(1);
+        final var capturedMessageSaveValue = savedMessagesArgumentCaptor.getValue().iterator().next();
+
         final var publishedEventArgumentCaptor = ArgumentCaptor.forClass(OutboxMessageEventMetaData.class);
         verify(applicationEventPublisher).publishEvent(publishedEventArgumentCaptor.capture());
-        assertThat(publishedEventArgumentCaptor.getValue().getMessageId()).isEqualTo(mockOutboxMessage.getId());
-
-        final var savedMessageArgumentCaptor = ArgumentCaptor.forClass(OutboxMessage.class);
-        verify(outboxMessageRepository).save(savedMessageArgumentCaptor.capture());
+        assertThat(publishedEventArgumentCaptor.getValue().getMessageId()).isEqualTo(capturedMessageSaveValue.getId());
+        assertThat(publishedEventArgumentCaptor.getValue().getChannel()).isEqualTo(capturedMessageSaveValue.getChannel());
+        assertThat(publishedEventArgumentCaptor.getValue().getPayload()).isEqualTo(capturedMessageSaveValue.getPayload());
 
         final var messagePayloadJson = OBJECT_MAPPER.writeValueAsString(messagePayload);
-        final var capturedMessageSaveValue = savedMessageArgumentCaptor.getValue();
         assertThat(capturedMessageSaveValue)
                 .isEqualToIgnoringGivenFields(outboxMessageEvent,
                         "id",
                         "payload",
+                        "binaryPayload",
                         "status",
                         "messageClass",
                         "createdAt",
                         "sentAt",
                         "retryCount",
-                        "statusMessage");
+                        "statusMessage",
+                        "nextAttemptAt",
+                        "sequenceNumber");
 
-        assertThat(capturedMessageSaveValue.getId()).isNotBlank();
+        assertThat(capturedMessageSaveValue.getId()).hasSize(36);
+        assertThat(UUID.fromString(capturedMessageSaveValue.getId()).version()).isEqualTo(7);
         assertThat(capturedMessageSaveValue.getStatus()).isEqualTo(OutboxMessageStatus.NEW);
         assertThat(capturedMessageSaveValue.getPayload()).isEqualTo(messagePayloadJson);
         assertThat(capturedMessageSaveValue.getCreatedAt()).isNotNull();
@@ -108,11 +171,149 @@ class OutboxMessageHandlerTest {
         assertThat(capturedMessageSaveValue.getRetryCount()).isEqualTo(-1);
     }
 
+    @Test
+    public void testOnOutboxMessageCreate_it_should_save_all_messages_of_transaction_with_one_batch_insert_before_commit() {
+        //Given
+        final var messagePayload = getDummyMessagePayload();
+
+        //When
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload));
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload));
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload));
+        verifyNoInteractions(outboxMessageRepository, applicationEventPublisher);
+        triggerBeforeCommit();
+
+        //Then
+        verify(outboxMessageRepository).insertAll(savedMessagesArgumentCaptor.capture());
+        assertThat(savedMessagesArgumentCaptor.getValue()).hasSize(3);
+        verify(applicationEventPublisher, times(3)).publishEvent(any(OutboxMessageEventMetaData.class));
+        verify(outboxMessageMetrics).recordSave(eq(3), anyLong());
+    }
+
+    @Test
+    public void testOnOutboxMessageCreate_it_should_give_increasing_sequence_numbers_per_ordering_key() {
+        //Given
+        outboxMessageHandler.snapshotPublishEnabled = true;
+        final var messagePayload = getDummyMessagePayload();
+        when(outboxMessageRepository.reserveSequenceNumbers(Map.of("order-1", 2L, "order-2", 1L)))
+                .thenReturn(Map.of("order-1", 7L, "order-2", 0L));
+
+        //When
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload, "order-1"));
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload, "order-2"));
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload, "order-1"));
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload));
+        triggerBeforeCommit();
+
+        //Then
+        verify(outboxMessageRepository).insertAll(savedMessagesArgumentCaptor.capture());
+        final var savedMessages = savedMessagesArgumentCaptor.getValue();
+        assertThat(savedMessages).extracting(OutboxMessage::getOrderingKey, OutboxMessage::getSequenceNumber)
+                .containsExactly(tuple("order-1", 8L), tuple("order-2", 1L), tuple("order-1", 9L), tuple(null, null));
+
+        final var publishedEventArgumentCaptor = ArgumentCaptor.forClass(OutboxMessageEventMetaData.class);
+        verify(applicationEventPublisher, times(4)).publishEvent(publishedEventArgumentCaptor.capture());
+        assertThat(publishedEventArgumentCaptor.getAllValues().get(2).getSequenceNumber()).isEqualTo(9L);
+    }
+
+    @Test
+    public void testOnOutboxMessageCreate_it_should_save_payload_as_json_bytes_when_binary_payload_is_enabled() throws IOException {
+        //Given
+        outboxMessageHandler.snapshotPublishEnabled = true;
+        outboxMessageHandler.binaryPayloadEnabled = true;
+        final var messagePayload = getDummyMessagePayload();
+
+        //When
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload));
+        triggerBeforeCommit();
+
+        //Then
+        verify(outboxMessageRepository).insertAll(savedMessagesArgumentCaptor.capture());
+        final var capturedMessageSaveValue = savedMessagesArgumentCaptor.getValue().iterator().next();
+        assertThat(capturedMessageSaveValue.getPayload()).isNull();
+        assertThat(capturedMessageSaveValue.getBinaryPayload()).isEqualTo(OBJECT_MAPPER.writeValueAsBytes(messagePayload));
+
+        final var publishedEventArgumentCaptor = ArgumentCaptor.forClass(OutboxMessageEventMetaData.class);
+        verify(applicationEventPublisher).publishEvent(publishedEventArgumentCaptor.capture());
+        assertThat(publishedEventArgumentCaptor.getValue().hasSnapshot()).isTrue();
+        assertThat(publishedEventArgumentCaptor.getValue().getSnapshotPayload())
+                .isEqualTo(capturedMessageSaveValue.getBinaryPayload());
+    }
+
+    @Test
+    public void testOnOutboxMessageCreate_it_should_save_binary_format_payload_as_bytes_and_record_format() {
+        //Given
+        final var outboxMessagePayloadSerializer = mock(OutboxMessagePayloadSerializer.class);
+        final var messagePayload = getDummyMessagePayload();
+        final var serializedPayload = new byte[]{1, 2, 3};
+        when(outboxMessagePayloadSerializer.getFormat()).thenReturn(OutboxMessagePayloadFormat.AVRO);
+        when(outboxMessagePayloadSerializer.serialize(messagePayload)).thenReturn(serializedPayload);
+        when(outboxMessagePayloadSerializerProvider.getIfAvailable(any())).thenReturn(outboxMessagePayloadSerializer);
+        outboxMessageHandler = new OutboxMessageHandler(outboxMessageRepository, applicationEventPublisher,
+                outboxMessageIdGeneratorProvider, outboxMessagePayloadCompressor, outboxMessagePayloadSerializerProvider,
+                objectMapperProvider, outboxMessageMetrics);
+        outboxMessageHandler.snapshotPublishEnabled = true;
+
+        //When
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(messagePayload));
+        triggerBeforeCommit();
+
+        //Then
+        verify(outboxMessageRepository).insertAll(savedMessagesArgumentCaptor.capture());
+        final var capturedMessageSaveValue = savedMessagesArgumentCaptor.getValue().iterator().next();
+        assertThat(capturedMessageSaveValue.getBinaryPayload()).isSameAs(serializedPayload);
+        assertThat(capturedMessageSaveValue.getMessageClass()).isEqualTo(DummyMessagePayload.class.getName() + ";format=avro");
+
+        final var publishedEventArgumentCaptor = ArgumentCaptor.forClass(OutboxMessageEventMetaData.class);
+        verify(applicationEventPublisher).publishEvent(publishedEventArgumentCaptor.capture());
+        assertThat(publishedEventArgumentCaptor.getValue().getFormat()).isEqualTo(OutboxMessagePayloadFormat.AVRO);
+    }
+
+    @Test
+    public void testOnOutboxMessageCreate_it_should_publish_meta_data_without_snapshot_when_snapshot_publish_is_disabled() {
+        //When
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(getDummyMessagePayload()));
+        triggerBeforeCommit();
+
+        //Then
+        verify(outboxMessageRepository).insertAll(savedMessagesArgumentCaptor.capture());
+        final var capturedMessageSaveValue = savedMessagesArgumentCaptor.getValue().iterator().next();
+
+        final var publishedEventArgumentCaptor = ArgumentCaptor.forClass(OutboxMessageEventMetaData.class);
+        verify(applicationEventPublisher).publishEvent(publishedEventArgumentCaptor.capture());
+        assertThat(publishedEventArgumentCaptor.getValue().getMessageId()).isEqualTo(capturedMessageSaveValue.getId());
+        assertThat(publishedEventArgumentCaptor.getValue().hasSnapshot()).isFalse();
+        assertThat(publishedEventArgumentCaptor.getValue().getPayload()).isNull();
+        assertThat(publishedEventArgumentCaptor.getValue().getFormat()).isNull();
+    }
+
+    @Test
+    public void testOnOutboxMessageCreate_it_should_ignore_event_when_there_is_no_active_transaction() {
+        //Given
+        TransactionSynchronizationManager.clearSynchronization();
+
+        //When
+        outboxMessageHandler.onOutboxMessageCreate(getOutboxMessageEvent(getDummyMessagePayload()));
+
+        //Then
+        verifyNoInteractions(outboxMessageRepository, applicationEventPublisher);
+    }
+
+    private void triggerBeforeCommit() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(transactionSynchronization -> transactionSynchronization.beforeCommit(false));
+    }
+
     private OutboxMessageEvent getOutboxMessageEvent(DummyMessagePayload messagePayload) {
         return OutboxMessageEvent.builder()
                 .source("src-1").sourceId("src-id-1").payload(messagePayload).channel("chn-1").build();
     }
 
+    private OutboxMessageEvent getOutboxMessageEvent(DummyMessagePayload messagePayload, String orderingKey) {
+        return OutboxMessageEvent.builder()
+                .source("src-1").sourceId("src-id-1").payload(messagePayload).channel("chn-1").orderingKey(orderingKey).build();
+    }
+
     private DummyMessagePayload getDummyMessagePayload() {
         return DummyMessagePayload.builder().id("id-1").name("name-1").build();
     }
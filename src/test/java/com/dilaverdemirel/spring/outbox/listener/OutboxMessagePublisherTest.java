@@ -1,7 +1,6 @@
 package com.dilaverdemirel.spring.outbox.listener;
 
 import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
-import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -17,20 +16,20 @@ import static org.mockito.Mockito.verify;
 @ExtendWith(MockitoExtension.class)
 public class OutboxMessagePublisherTest {
     @Mock
-    private OutboxMessagePublisherService outboxMessagePublisherService;
+    private OutboxMessageDispatcher outboxMessageDispatcher;
 
     @InjectMocks
     private OutboxMessagePublisher outboxMessagePublisher;
 
     @Test
-    public void testOnOutboxMessageSave_it_should_call_publish_by_id_when_message_received() {
+    public void testOnOutboxMessageSave_it_should_dispatch_when_message_received() {
         //Given
-        final var messageId = "message-1";
+        final var outboxMessageEventMetaData = OutboxMessageEventMetaData.builder().messageId("message-1").build();
 
         //When
-        outboxMessagePublisher.onOutboxMessageSave(OutboxMessageEventMetaData.builder().messageId(messageId).build());
+        outboxMessagePublisher.onOutboxMessageSave(outboxMessageEventMetaData);
 
         //Then
-        verify(outboxMessagePublisherService).publishById(messageId);
+        verify(outboxMessageDispatcher).dispatch(outboxMessageEventMetaData);
     }
 }
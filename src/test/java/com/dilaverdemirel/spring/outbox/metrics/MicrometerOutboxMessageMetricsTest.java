@@ -0,0 +1,102 @@
+package com.dilaverdemirel.spring.outbox.metrics;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageBacklog;
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+class MicrometerOutboxMessageMetricsTest {
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MicrometerOutboxMessageMetrics outboxMessageMetrics;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxMessageMetrics = new MicrometerOutboxMessageMetrics(meterRegistry, outboxMessageRepository);
+    }
+
+    @Test
+    void testRecordSend_it_should_count_sent_and_failed_messages_by_channel() {
+        //When
+        outboxMessageMetrics.recordSend("channel-1", TimeUnit.MILLISECONDS.toNanos(5), true);
+        outboxMessageMetrics.recordSend("channel-1", TimeUnit.MILLISECONDS.toNanos(5), false);
+        outboxMessageMetrics.recordSend("channel-2", TimeUnit.MILLISECONDS.toNanos(5), true);
+        outboxMessageMetrics.recordRetry("channel-1");
+        outboxMessageMetrics.recordCommitToSend("channel-1", Duration.ofMillis(20));
+
+        //Then
+        assertThat(meterRegistry.get("outbox.message.sent").tag("channel", "channel-1").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.message.sent").tag("channel", "channel-2").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.message.failed").tag("channel", "channel-1").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.message.retried").tag("channel", "channel-1").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.message.send").tag("channel", "channel-1").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.message.commit.to.send").tag("channel", "channel-1").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20);
+    }
+
+    @Test
+    void testRecordSave_it_should_time_batch_and_count_saved_messages() {
+        //When
+        outboxMessageMetrics.recordSave(10, TimeUnit.MILLISECONDS.toNanos(3));
+
+        //Then
+        assertThat(meterRegistry.get("outbox.message.save").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.message.saved").counter().count()).isEqualTo(10);
+    }
+
+    @Test
+    void testBacklogGauges_it_should_read_refreshed_backlog_without_querying_on_scrape() {
+        //Given
+        final var oldestCreatedAt = LocalDateTime.now().minusMinutes(5);
+        final var newBacklog = mock(OutboxMessageBacklog.class);
+        when(newBacklog.getStatus()).thenReturn(OutboxMessageStatus.NEW);
+        when(newBacklog.getMessageCount()).thenReturn(42L);
+        when(newBacklog.getOldestCreatedAt()).thenReturn(oldestCreatedAt);
+        when(outboxMessageRepository.findBacklog()).thenReturn(List.of(newBacklog));
+
+        //When
+        outboxMessageMetrics.refreshBacklog();
+
+        //Then
+        assertThat(meterRegistry.get("outbox.message.backlog").tag("status", "NEW").gauge().value()).isEqualTo(42);
+        assertThat(meterRegistry.get("outbox.message.backlog").tag("status", "FAILED").gauge().value()).isZero();
+        assertThat(meterRegistry.get("outbox.message.oldest.age").tag("status", "NEW").timeGauge().value(TimeUnit.MINUTES))
+                .isGreaterThanOrEqualTo(5);
+        assertThat(meterRegistry.get("outbox.message.oldest.age").tag("status", "FAILED").timeGauge().value()).isZero();
+    }
+
+    @Test
+    void testBacklogGauges_it_should_be_zero_before_first_refresh() {
+        //When
+        final var backlog = meterRegistry.get("outbox.message.backlog").tag("status", "NEW").gauge().value();
+
+        //Then
+        assertThat(backlog).isZero();
+        verifyNoInteractions(outboxMessageRepository);
+    }
+}
@@ -0,0 +1,89 @@
+package com.dilaverdemirel.spring.outbox.notification;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class H2OutboxMessageChangeNotificationSourceTest {
+
+    private JdbcDataSource dataSource;
+    private H2OutboxMessageChangeNotificationSource h2OutboxMessageChangeNotificationSource;
+    private final List<LocalDateTime> nextAttemptTimes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void beforeEach() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outbox-notification-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        execute("CREATE TABLE outbox_message (id VARCHAR(36) PRIMARY KEY, status VARCHAR(20), next_attempt_at TIMESTAMP)");
+        h2OutboxMessageChangeNotificationSource = new H2OutboxMessageChangeNotificationSource(dataSource);
+        h2OutboxMessageChangeNotificationSource.notSentDelayInSeconds = 30;
+        h2OutboxMessageChangeNotificationSource.start(nextAttemptTimes::add);
+    }
+
+    @AfterEach
+    public void afterEach() throws SQLException {
+        h2OutboxMessageChangeNotificationSource.stop();
+        execute("SHUTDOWN");
+    }
+
+    @Test
+    void testStart_it_should_notify_next_attempt_when_message_is_marked_as_failed() throws SQLException {
+        //Given
+        execute("INSERT INTO outbox_message VALUES ('message-1', 'NEW', NULL)");
+        nextAttemptTimes.clear();
+
+        //When
+        execute("UPDATE outbox_message SET status = 'FAILED', next_attempt_at = TIMESTAMP '2026-10-17 10:15:30' "
+                + "WHERE id = 'message-1'");
+
+        //Then
+        assertThat(nextAttemptTimes).containsExactly(LocalDateTime.of(2026, 10, 17, 10, 15, 30));
+    }
+
+    @Test
+    void testStart_it_should_notify_end_of_not_sent_delay_when_new_message_is_inserted() throws SQLException {
+        //Given
+        final var insertedAfter = LocalDateTime.now();
+
+        //When
+        execute("INSERT INTO outbox_message VALUES ('message-1', 'NEW', NULL)");
+
+        //Then
+        assertThat(nextAttemptTimes).hasSize(1);
+        assertThat(nextAttemptTimes.get(0)).isBetween(insertedAfter.plusSeconds(30), LocalDateTime.now().plusSeconds(30));
+    }
+
+    @Test
+    void testStart_it_should_not_notify_when_message_is_marked_as_sent() throws SQLException {
+        //Given
+        execute("INSERT INTO outbox_message VALUES ('message-1', 'FAILED', NULL)");
+        nextAttemptTimes.clear();
+
+        //When
+        execute("UPDATE outbox_message SET status = 'SENT' WHERE id = 'message-1'");
+        h2OutboxMessageChangeNotificationSource.stop();
+        execute("INSERT INTO outbox_message VALUES ('message-2', 'FAILED', NULL)");
+
+        //Then
+        assertThat(nextAttemptTimes).isEmpty();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
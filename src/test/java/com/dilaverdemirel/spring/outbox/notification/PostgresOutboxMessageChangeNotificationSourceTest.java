@@ -0,0 +1,48 @@
+package com.dilaverdemirel.spring.outbox.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class PostgresOutboxMessageChangeNotificationSourceTest {
+
+    @Test
+    void testChangeTimeOf_it_should_return_next_attempt_of_failed_message() {
+        //When
+        final var changeTime = PostgresOutboxMessageChangeNotificationSource.changeTimeOf("2026-10-17 10:15:30.123", 30);
+
+        //Then
+        assertThat(changeTime).isEqualTo(LocalDateTime.of(2026, 10, 17, 10, 15, 30, 123_000_000));
+    }
+
+    @Test
+    void testChangeTimeOf_it_should_return_end_of_not_sent_delay_for_new_messages() {
+        //Given
+        final var notifiedAfter = LocalDateTime.now();
+
+        //When
+        final var changeTime = PostgresOutboxMessageChangeNotificationSource.changeTimeOf(
+                OutboxMessageChangeNotificationSource.NEW_MESSAGE_PAYLOAD, 30);
+
+        //Then
+        assertThat(changeTime).isBetween(notifiedAfter.plusSeconds(30), LocalDateTime.now().plusSeconds(30));
+    }
+
+    @Test
+    void testChangeTimeOf_it_should_return_now_when_payload_is_not_valid() {
+        //Given
+        final var notifiedAfter = LocalDateTime.now();
+
+        //When
+        final var changeTime = PostgresOutboxMessageChangeNotificationSource.changeTimeOf("unknown", 30);
+
+        //Then
+        assertThat(changeTime).isBetween(notifiedAfter, LocalDateTime.now());
+    }
+}
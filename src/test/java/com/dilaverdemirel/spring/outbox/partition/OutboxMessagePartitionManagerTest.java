@@ -0,0 +1,104 @@
+package com.dilaverdemirel.spring.outbox.partition;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxMessagePartitionManagerTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query query;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OutboxMessagePartitionManager outboxMessagePartitionManager;
+
+    @BeforeEach
+    public void beforeEach() {
+        outboxMessagePartitionManager.entityManager = entityManager;
+        outboxMessagePartitionManager.enabled = true;
+        outboxMessagePartitionManager.tableName = "outbox_message";
+        outboxMessagePartitionManager.daysAhead = 2;
+    }
+
+    @Test
+    void testCreateFuturePartitions_it_should_create_only_missing_partitions() {
+        //Given
+        outboxMessagePartitionManager.dialectName = "POSTGRESQL";
+        outboxMessagePartitionManager.afterPropertiesSet();
+        final var today = LocalDate.now();
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of("outbox_message_p" + today.toString().replace("-", "")));
+
+        //When
+        final var createdPartitionCount = outboxMessagePartitionManager.createFuturePartitions();
+
+        //Then
+        assertThat(createdPartitionCount).isEqualTo(2);
+        verify(entityManager).createNativeQuery(OutboxMessagePartitionDialect.POSTGRESQL
+                .createPartitionSql("outbox_message", today.plusDays(1)));
+        verify(entityManager).createNativeQuery(OutboxMessagePartitionDialect.POSTGRESQL
+                .createPartitionSql("outbox_message", today.plusDays(2)));
+        verify(entityManager, never()).createNativeQuery(OutboxMessagePartitionDialect.POSTGRESQL
+                .createPartitionSql("outbox_message", today));
+    }
+
+    @Test
+    void testDropPartitionsOlderThan_it_should_drop_only_partitions_whose_whole_day_is_expired() {
+        //Given
+        outboxMessagePartitionManager.dialectName = "MYSQL";
+        outboxMessagePartitionManager.afterPropertiesSet();
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of("p20261008", "p20261009", "p20261010", "p_future"));
+
+        //When
+        final var droppedPartitionCount = outboxMessagePartitionManager.dropPartitionsOlderThan(
+                LocalDate.of(2026, 10, 10).atTime(12, 0));
+
+        //Then
+        assertThat(droppedPartitionCount).isEqualTo(2);
+        verify(entityManager).createNativeQuery("ALTER TABLE outbox_message DROP PARTITION p20261008");
+        verify(entityManager).createNativeQuery("ALTER TABLE outbox_message DROP PARTITION p20261009");
+        verify(entityManager, never()).createNativeQuery("ALTER TABLE outbox_message DROP PARTITION p20261010");
+        verify(entityManager, never()).createNativeQuery("ALTER TABLE outbox_message DROP PARTITION p_future");
+    }
+
+    @Test
+    void testIsPartitionDropEnabled_it_should_fall_back_to_deletes_on_h2() {
+        //Given
+        outboxMessagePartitionManager.dialectName = "H2";
+
+        //When
+        outboxMessagePartitionManager.afterPropertiesSet();
+
+        //Then
+        assertThat(outboxMessagePartitionManager.isPartitionDropEnabled()).isFalse();
+        assertThat(outboxMessagePartitionManager.createFuturePartitions()).isZero();
+        verify(entityManager, never()).createNativeQuery(anyString());
+    }
+}
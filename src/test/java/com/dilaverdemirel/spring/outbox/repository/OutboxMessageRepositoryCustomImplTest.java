@@ -0,0 +1,120 @@
+package com.dilaverdemirel.spring.outbox.repository;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageKeySequence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxMessageRepositoryCustomImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OutboxMessageRepositoryCustomImpl outboxMessageRepositoryCustom;
+
+    @Test
+    void testInsertAll_it_should_persist_and_flush_messages_with_jdbc_batch_size_of_message_count() {
+        //Given
+        final var outboxMessage1 = OutboxMessage.builder().id("message-1").build();
+        final var outboxMessage2 = OutboxMessage.builder().id("message-2").build();
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getJdbcBatchSize()).thenReturn(null);
+
+        //When
+        outboxMessageRepositoryCustom.insertAll(List.of(outboxMessage1, outboxMessage2));
+
+        //Then
+        final InOrder inOrder = inOrder(session, entityManager);
+        inOrder.verify(session).setJdbcBatchSize(2);
+        inOrder.verify(entityManager).persist(outboxMessage1);
+        inOrder.verify(entityManager).persist(outboxMessage2);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(session).setJdbcBatchSize(null);
+    }
+
+    @Test
+    void testInsertAll_it_should_do_nothing_when_there_is_no_message() {
+        //When
+        outboxMessageRepositoryCustom.insertAll(List.of());
+
+        //Then
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void testReserveSequenceNumbers_it_should_increase_locked_counter_and_insert_counter_of_new_key_in_own_transaction() {
+        //Given
+        final var keySequence = new OutboxMessageKeySequence("order-1", 7L);
+        final var newKeySequence = new OutboxMessageKeySequence("order-2", 0L);
+        when(entityManager.find(OutboxMessageKeySequence.class, "order-1", LockModeType.PESSIMISTIC_WRITE)).thenReturn(keySequence);
+        when(entityManager.find(OutboxMessageKeySequence.class, "order-2", LockModeType.PESSIMISTIC_WRITE))
+                .thenReturn(null)
+                .thenReturn(newKeySequence);
+
+        //When
+        final var lastSequenceNumbers = outboxMessageRepositoryCustom.reserveSequenceNumbers(Map.of("order-2", 1L, "order-1", 2L));
+
+        //Then
+        assertThat(lastSequenceNumbers).containsExactlyInAnyOrderEntriesOf(Map.of("order-1", 7L, "order-2", 0L));
+        assertThat(keySequence.getLastSequenceNumber()).isEqualTo(9L);
+        assertThat(newKeySequence.getLastSequenceNumber()).isEqualTo(1L);
+        final InOrder inOrder = inOrder(entityManager, transactionManager);
+        inOrder.verify(entityManager).find(OutboxMessageKeySequence.class, "order-1", LockModeType.PESSIMISTIC_WRITE);
+        inOrder.verify(entityManager).find(OutboxMessageKeySequence.class, "order-2", LockModeType.PESSIMISTIC_WRITE);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(entityManager).persist(new OutboxMessageKeySequence("order-2", 0L));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(entityManager).find(OutboxMessageKeySequence.class, "order-2", LockModeType.PESSIMISTIC_WRITE);
+        inOrder.verify(entityManager).flush();
+    }
+
+    @Test
+    void testReserveSequenceNumbers_it_should_lock_counter_of_other_transaction_when_insert_of_new_key_is_rejected() {
+        //Given
+        final var otherTransactionKeySequence = new OutboxMessageKeySequence("order-1", 4L);
+        when(entityManager.find(OutboxMessageKeySequence.class, "order-1", LockModeType.PESSIMISTIC_WRITE))
+                .thenReturn(null)
+                .thenReturn(otherTransactionKeySequence);
+        doThrow(new PersistenceException("duplicate key")).when(entityManager).persist(any(OutboxMessageKeySequence.class));
+
+        //When
+        final var lastSequenceNumbers = outboxMessageRepositoryCustom.reserveSequenceNumbers(Map.of("order-1", 1L));
+
+        //Then
+        assertThat(lastSequenceNumbers).containsExactly(Map.entry("order-1", 4L));
+        assertThat(otherTransactionKeySequence.getLastSequenceNumber()).isEqualTo(5L);
+        verify(transactionManager).rollback(any());
+    }
+}
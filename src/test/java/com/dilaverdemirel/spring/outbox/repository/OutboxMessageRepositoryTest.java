@@ -0,0 +1,203 @@
+package com.dilaverdemirel.spring.outbox.repository;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repository queries against an in-memory H2 database.
+ *
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class OutboxMessageRepositoryTest {
+    private static final LocalDateTime KEYSET_START_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private OutboxMessageRepository outboxMessageRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void beforeEach() {
+        applicationContext = new AnnotationConfigApplicationContext(RepositoryTestConfiguration.class);
+        outboxMessageRepository = applicationContext.getBean(OutboxMessageRepository.class);
+        transactionTemplate = new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = new JdbcTemplate(applicationContext.getBean(DataSource.class));
+    }
+
+    @AfterEach
+    public void afterEach() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        applicationContext.close();
+    }
+
+    @Test
+    void testFindByStatusAndRetryCountLessThanEqualAfter_it_should_return_failed_messages_without_next_attempt_as_due() {
+        //Given
+        final var now = LocalDateTime.now();
+        insertFailedMessage("legacy-message", now.minusMinutes(3), null);
+        insertFailedMessage("due-message", now.minusMinutes(2), now.minusSeconds(1));
+        insertFailedMessage("waiting-message", now.minusMinutes(1), now.plusMinutes(5));
+
+        //When
+        final var failedMessages = outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                OutboxMessageStatus.FAILED, 3, now, KEYSET_START_DATE, "", PageRequest.ofSize(10));
+        final var claimedMessages = transactionTemplate.execute(status ->
+                outboxMessageRepository.claimByStatusAndRetryCountLessThanEqualAfter(
+                        OutboxMessageStatus.FAILED, 3, now, KEYSET_START_DATE, "", PageRequest.ofSize(10)));
+
+        //Then
+        assertThat(failedMessages.getContent()).extracting(OutboxMessage::getId)
+                .containsExactly("legacy-message", "due-message");
+        assertThat(claimedMessages.getContent()).extracting(OutboxMessage::getId)
+                .containsExactly("legacy-message", "due-message");
+    }
+
+    @Test
+    void testReserveSequenceNumbers_it_should_continue_from_last_reserved_number_after_messages_are_deleted() {
+        //Given
+        transactionTemplate.execute(status -> outboxMessageRepository.reserveSequenceNumbers(Map.of("order-1", 3L)));
+        jdbcTemplate.update("delete from outbox_message");
+
+        //When
+        final var lastSequenceNumbers = transactionTemplate.execute(status ->
+                outboxMessageRepository.reserveSequenceNumbers(Map.of("order-1", 2L, "order-2", 1L)));
+
+        //Then
+        assertThat(lastSequenceNumbers).containsExactlyInAnyOrderEntriesOf(Map.of("order-1", 3L, "order-2", 0L));
+        assertThat(jdbcTemplate.queryForList("select last_sequence_number from outbox_message_key_sequence order by ordering_key",
+                Long.class)).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void testReserveSequenceNumbers_it_should_make_concurrent_transaction_of_same_key_wait_for_the_first_one() throws Exception {
+        //Given
+        transactionTemplate.execute(status -> outboxMessageRepository.reserveSequenceNumbers(Map.of("order-1", 1L)));
+        final var firstReserved = new CountDownLatch(1);
+        final var firstMayCommit = new CountDownLatch(1);
+        final var executorService = Executors.newSingleThreadExecutor();
+
+        //When
+        final var firstResult = executorService.submit(() -> transactionTemplate.execute(status -> {
+            final var lastSequenceNumbers = outboxMessageRepository.reserveSequenceNumbers(Map.of("order-1", 2L));
+            firstReserved.countDown();
+            awaitQuietly(firstMayCommit);
+            return lastSequenceNumbers;
+        }));
+        firstReserved.await(5, TimeUnit.SECONDS);
+        final var secondResult = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status ->
+                outboxMessageRepository.reserveSequenceNumbers(Map.of("order-1", 1L))));
+        Thread.sleep(200);
+        final var secondCompletedBeforeFirstCommit = secondResult.isDone();
+        firstMayCommit.countDown();
+
+        //Then
+        assertThat(secondCompletedBeforeFirstCommit).isFalse();
+        assertThat(firstResult.get(5, TimeUnit.SECONDS)).containsEntry("order-1", 1L);
+        assertThat(secondResult.get(5, TimeUnit.SECONDS)).containsEntry("order-1", 3L);
+        executorService.shutdown();
+    }
+
+    @Test
+    void testReserveSequenceNumbers_it_should_make_concurrent_transaction_of_new_key_wait_instead_of_failing() throws Exception {
+        //Given
+        final var firstReserved = new CountDownLatch(1);
+        final var firstMayCommit = new CountDownLatch(1);
+        final var executorService = Executors.newSingleThreadExecutor();
+
+        //When
+        final var firstResult = executorService.submit(() -> transactionTemplate.execute(status -> {
+            final var lastSequenceNumbers = outboxMessageRepository.reserveSequenceNumbers(Map.of("order-1", 2L));
+            firstReserved.countDown();
+            awaitQuietly(firstMayCommit);
+            return lastSequenceNumbers;
+        }));
+        firstReserved.await(5, TimeUnit.SECONDS);
+        final var secondResult = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status ->
+                outboxMessageRepository.reserveSequenceNumbers(Map.of("order-1", 1L))));
+        Thread.sleep(200);
+        final var secondCompletedBeforeFirstCommit = secondResult.isDone();
+        firstMayCommit.countDown();
+
+        //Then
+        assertThat(secondCompletedBeforeFirstCommit).isFalse();
+        assertThat(firstResult.get(5, TimeUnit.SECONDS)).containsEntry("order-1", 0L);
+        assertThat(secondResult.get(5, TimeUnit.SECONDS)).containsEntry("order-1", 2L);
+        assertThat(jdbcTemplate.queryForObject("select last_sequence_number from outbox_message_key_sequence", Long.class))
+                .isEqualTo(3L);
+        executorService.shutdown();
+    }
+
+    private static void awaitQuietly(CountDownLatch countDownLatch) {
+        try {
+            countDownLatch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void insertFailedMessage(String id, LocalDateTime createdAt, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("insert into outbox_message (id, channel, created_at, message_class, payload, source, source_id, "
+                        + "status, retry_count, next_attempt_at) values (?, 'channel-1', ?, 'message-class', '{}', 'source', "
+                        + "'source-id', 'FAILED', 1, ?)",
+                id, Timestamp.valueOf(createdAt), Optional.ofNullable(nextAttemptAt).map(Timestamp::valueOf).orElse(null));
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = OutboxMessageRepository.class)
+    static class RepositoryTestConfiguration {
+
+        @Bean
+        public DataSource dataSource() {
+            final var dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:outbox-repository-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            return dataSource;
+        }
+
+        @Bean
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            final var entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+            entityManagerFactoryBean.setDataSource(dataSource);
+            entityManagerFactoryBean.setPackagesToScan(OutboxMessage.class.getPackageName());
+            entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            entityManagerFactoryBean.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "create",
+                    "hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy"));
+            return entityManagerFactoryBean;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
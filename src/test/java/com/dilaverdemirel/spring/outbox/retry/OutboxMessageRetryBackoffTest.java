@@ -0,0 +1,61 @@
+package com.dilaverdemirel.spring.outbox.retry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class OutboxMessageRetryBackoffTest {
+    private static final LocalDateTime FAILED_AT = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    private OutboxMessageRetryBackoff outboxMessageRetryBackoff;
+
+    @BeforeEach
+    public void beforeEach() {
+        outboxMessageRetryBackoff = new OutboxMessageRetryBackoff();
+        outboxMessageRetryBackoff.initialIntervalInMillis = 1000L;
+        outboxMessageRetryBackoff.multiplier = 2.0;
+        outboxMessageRetryBackoff.maxIntervalInMillis = 60000L;
+        outboxMessageRetryBackoff.jitter = 0.0;
+    }
+
+    @Test
+    void testNextAttemptAt_it_should_grow_exponentially_with_retry_count() {
+        //When
+        final var firstAttempt = outboxMessageRetryBackoff.nextAttemptAt(0, FAILED_AT);
+        final var secondAttempt = outboxMessageRetryBackoff.nextAttemptAt(1, FAILED_AT);
+        final var fourthAttempt = outboxMessageRetryBackoff.nextAttemptAt(3, FAILED_AT);
+
+        //Then
+        assertThat(firstAttempt).isEqualTo(FAILED_AT.plusSeconds(1));
+        assertThat(secondAttempt).isEqualTo(FAILED_AT.plusSeconds(2));
+        assertThat(fourthAttempt).isEqualTo(FAILED_AT.plusSeconds(8));
+    }
+
+    @Test
+    void testNextAttemptAt_it_should_not_exceed_max_interval() {
+        //When
+        final var nextAttemptAt = outboxMessageRetryBackoff.nextAttemptAt(30, FAILED_AT);
+
+        //Then
+        assertThat(nextAttemptAt).isEqualTo(FAILED_AT.plusMinutes(1));
+    }
+
+    @Test
+    void testNextAttemptAt_it_should_take_random_part_of_interval_off_when_jitter_is_set() {
+        //Given
+        outboxMessageRetryBackoff.jitter = 0.5;
+
+        //When
+        final var nextAttemptAt = outboxMessageRetryBackoff.nextAttemptAt(3, FAILED_AT);
+
+        //Then
+        assertThat(nextAttemptAt).isBetween(FAILED_AT.plusSeconds(4), FAILED_AT.plusSeconds(8));
+    }
+}
@@ -1,13 +1,27 @@
 package com.dilaverdemirel.spring.outbox.scheduler;
 
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessagePublishFailedEvent;
+import com.dilaverdemirel.spring.outbox.notification.OutboxMessageChangeNotificationSource;
 import com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.QUERY_RESULT_PAGE_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+
 /**
  * @author dilaverdemirel
  * @since 30.05.2020
@@ -18,9 +32,23 @@ public class FailedOutboxMessageSchedulerServiceTest {
     @Mock
     private OutboxMessagePublisherService outboxMessagePublisherService;
 
+    @Mock
+    private OutboxMessageChangeNotificationSource outboxMessageChangeNotificationSource;
+
     @InjectMocks
     private FailedOutboxMessageSchedulerService failedOutboxMessageSchedulerService;
 
+    @BeforeEach
+    public void beforeEach() {
+        failedOutboxMessageSchedulerService.minDelayInMillis = 500L;
+        failedOutboxMessageSchedulerService.maxDelayInMillis = 4000L;
+    }
+
+    @AfterEach
+    public void afterEach() {
+        failedOutboxMessageSchedulerService.stop();
+    }
+
     @Test
     public void testSendFailedMessages_it_should_call_resend_method_when_the_job_is_running() {
         //Given
@@ -32,4 +60,121 @@ public class FailedOutboxMessageSchedulerServiceTest {
         Mockito.verify(outboxMessagePublisherService).publishAllFailedMessages();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testNextDelayInMillis_it_should_run_again_immediately_when_page_is_full() {
+        //When
+        final var delayInMillis = failedOutboxMessageSchedulerService.nextDelayInMillis(QUERY_RESULT_PAGE_SIZE);
+
+        //Then
+        assertThat(delayInMillis).isZero();
+    }
+
+    @Test
+    public void testNextDelayInMillis_it_should_back_off_exponentially_up_to_max_delay_while_outbox_is_empty() {
+        //When
+        final var delays = new long[]{
+                failedOutboxMessageSchedulerService.nextDelayInMillis(0),
+                failedOutboxMessageSchedulerService.nextDelayInMillis(0),
+                failedOutboxMessageSchedulerService.nextDelayInMillis(0),
+                failedOutboxMessageSchedulerService.nextDelayInMillis(0),
+                failedOutboxMessageSchedulerService.nextDelayInMillis(0)
+        };
+        final var delayAfterMessagesFound = failedOutboxMessageSchedulerService.nextDelayInMillis(3);
+        final var delayAfterReset = failedOutboxMessageSchedulerService.nextDelayInMillis(0);
+
+        //Then
+        assertThat(delays).containsExactly(500L, 1000L, 2000L, 4000L, 4000L);
+        assertThat(delayAfterMessagesFound).isEqualTo(500L);
+        assertThat(delayAfterReset).isEqualTo(500L);
+    }
+
+    @Test
+    public void testNextDelayInMillis_it_should_back_off_when_all_read_messages_are_held_back_by_dead_predecessor() {
+        //Given
+        Mockito.when(outboxMessagePublisherService.publishAllFailedMessages()).thenReturn(0);
+
+        //When
+        final var delays = new long[]{
+                failedOutboxMessageSchedulerService.nextDelayInMillis(failedOutboxMessageSchedulerService.sendFailedMessages()),
+                failedOutboxMessageSchedulerService.nextDelayInMillis(failedOutboxMessageSchedulerService.sendFailedMessages()),
+                failedOutboxMessageSchedulerService.nextDelayInMillis(failedOutboxMessageSchedulerService.sendFailedMessages())
+        };
+
+        //Then
+        assertThat(delays).containsExactly(500L, 1000L, 2000L);
+    }
+
+    @Test
+    public void testOnOutboxMessagePublishFailed_it_should_wake_poller_up_when_next_attempt_is_due() {
+        //Given
+        failedOutboxMessageSchedulerService.minDelayInMillis = 60000L;
+        failedOutboxMessageSchedulerService.maxDelayInMillis = 60000L;
+        failedOutboxMessageSchedulerService.start();
+        Mockito.verify(outboxMessagePublisherService, timeout(1000)).publishAllFailedMessages();
+
+        //When
+        failedOutboxMessageSchedulerService.onOutboxMessagePublishFailed(OutboxMessagePublishFailedEvent.builder()
+                .messageId("message-1")
+                .nextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(600)))
+                .build());
+
+        //Then
+        Mockito.verify(outboxMessagePublisherService, after(300).times(1)).publishAllFailedMessages();
+        Mockito.verify(outboxMessagePublisherService, timeout(2500).times(2)).publishAllFailedMessages();
+        Mockito.verify(outboxMessagePublisherService, after(200).times(2)).publishAllFailedMessages();
+    }
+
+    @Test
+    public void testOnOutboxMessagePublishFailed_it_should_not_wake_poller_up_when_message_is_not_marked_as_failed() {
+        //Given
+        failedOutboxMessageSchedulerService.minDelayInMillis = 60000L;
+        failedOutboxMessageSchedulerService.maxDelayInMillis = 60000L;
+        failedOutboxMessageSchedulerService.start();
+        Mockito.verify(outboxMessagePublisherService, timeout(1000)).publishAllFailedMessages();
+
+        //When
+        failedOutboxMessageSchedulerService.onOutboxMessagePublishFailed(
+                OutboxMessagePublishFailedEvent.builder().messageId("message-1").build());
+
+        //Then
+        Mockito.verify(outboxMessagePublisherService, after(300).times(1)).publishAllFailedMessages();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStart_it_should_not_run_before_notified_message_is_due() {
+        //Given
+        failedOutboxMessageSchedulerService.minDelayInMillis = 60000L;
+        failedOutboxMessageSchedulerService.maxDelayInMillis = 60000L;
+        failedOutboxMessageSchedulerService.start();
+        Mockito.verify(outboxMessagePublisherService, timeout(1000)).publishAllFailedMessages();
+        final ArgumentCaptor<Consumer<LocalDateTime>> changeListenerArgumentCaptor = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(outboxMessageChangeNotificationSource).start(changeListenerArgumentCaptor.capture());
+
+        //When
+        changeListenerArgumentCaptor.getValue().accept(LocalDateTime.now().plusSeconds(30));
+
+        //Then
+        Mockito.verify(outboxMessagePublisherService, after(500).times(1)).publishAllFailedMessages();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStart_it_should_wake_poller_up_when_notified_message_is_due() {
+        //Given
+        failedOutboxMessageSchedulerService.minDelayInMillis = 60000L;
+        failedOutboxMessageSchedulerService.maxDelayInMillis = 60000L;
+        failedOutboxMessageSchedulerService.start();
+        Mockito.verify(outboxMessagePublisherService, timeout(1000)).publishAllFailedMessages();
+        final ArgumentCaptor<Consumer<LocalDateTime>> changeListenerArgumentCaptor = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(outboxMessageChangeNotificationSource).start(changeListenerArgumentCaptor.capture());
+
+        //When
+        changeListenerArgumentCaptor.getValue().accept(LocalDateTime.now().minusSeconds(1));
+
+        //Then
+        Mockito.verify(outboxMessagePublisherService, timeout(1000).times(2)).publishAllFailedMessages();
+        failedOutboxMessageSchedulerService.stop();
+        Mockito.verify(outboxMessageChangeNotificationSource).stop();
+    }
+}
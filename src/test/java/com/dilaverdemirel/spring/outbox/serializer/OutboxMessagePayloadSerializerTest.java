@@ -0,0 +1,107 @@
+package com.dilaverdemirel.spring.outbox.serializer;
+
+import com.dilaverdemirel.spring.outbox.dto.DummyMessagePayload;
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessagePayloadSerializationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.StringValue;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class OutboxMessagePayloadSerializerTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void testJson_it_should_serialize_with_given_object_mapper_and_resolve_writer_once_per_class() throws IOException {
+        //Given
+        final var objectMapper = spy(new ObjectMapper());
+        final var serializer = OutboxMessagePayloadSerializer.json(objectMapper);
+        final var payload = DummyMessagePayload.builder().id("id-1").name("name-1").build();
+
+        //When
+        final var json = serializer.serializeToString(payload);
+        final var jsonBytes = serializer.serialize(payload);
+
+        //Then
+        assertThat(json).isEqualTo(OBJECT_MAPPER.writeValueAsString(payload));
+        assertThat(jsonBytes).isEqualTo(OBJECT_MAPPER.writeValueAsBytes(payload));
+        verify(objectMapper, times(1)).writerFor(DummyMessagePayload.class);
+    }
+
+    @Test
+    void testSmileAndCbor_it_should_serialize_to_binary_jackson_formats() throws IOException {
+        //Given
+        final var payload = DummyMessagePayload.builder().id("id-1").name("name-1").build();
+
+        //When
+        final var smilePayload = OutboxMessagePayloadSerializer.smile(OBJECT_MAPPER).serialize(payload);
+        final var cborPayload = OutboxMessagePayloadSerializer.cbor(OBJECT_MAPPER).serialize(payload);
+
+        //Then
+        assertThat(new ObjectMapper(new SmileFactory()).readValue(smilePayload, DummyMessagePayload.class))
+                .isEqualToComparingFieldByField(payload);
+        assertThat(new ObjectMapper(new CBORFactory()).readValue(cborPayload, DummyMessagePayload.class))
+                .isEqualToComparingFieldByField(payload);
+        assertThrows(UnsupportedOperationException.class,
+                () -> OutboxMessagePayloadSerializer.smile(OBJECT_MAPPER).serializeToString(payload));
+    }
+
+    @Test
+    void testAvro_it_should_serialize_avro_record_in_binary_encoding() throws IOException {
+        //Given
+        final var schema = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"Payment\","
+                + "\"fields\":[{\"name\":\"id\",\"type\":\"string\"}]}");
+        final var payload = new GenericData.Record(schema);
+        payload.put("id", "payment-1");
+
+        //When
+        final var avroPayload = OutboxMessagePayloadSerializer.avro().serialize(payload);
+
+        //Then
+        final GenericRecord record = new GenericDatumReader<GenericRecord>(schema)
+                .read(null, DecoderFactory.get().binaryDecoder(avroPayload, null));
+        assertThat(record.get("id").toString()).isEqualTo("payment-1");
+        assertThrows(OutboxMessagePayloadSerializationException.class,
+                () -> OutboxMessagePayloadSerializer.avro().serialize("not-a-record"));
+    }
+
+    @Test
+    void testProtobuf_it_should_serialize_protobuf_message_in_wire_format() throws IOException {
+        //Given
+        final var payload = StringValue.of("payment-1");
+
+        //When
+        final var protobufPayload = OutboxMessagePayloadSerializer.protobuf().serialize(payload);
+
+        //Then
+        assertThat(StringValue.parseFrom(protobufPayload)).isEqualTo(payload);
+    }
+
+    @Test
+    void testOfMessageClass_it_should_read_recorded_format_and_default_to_json() {
+        assertThat(OutboxMessagePayloadFormat.ofMessageClass(
+                OutboxMessagePayloadFormat.CBOR.messageClassOf(DummyMessagePayload.class)))
+                .isEqualTo(OutboxMessagePayloadFormat.CBOR);
+        assertThat(OutboxMessagePayloadFormat.ofMessageClass(DummyMessagePayload.class.getName()))
+                .isEqualTo(OutboxMessagePayloadFormat.JSON);
+        assertThat(OutboxMessagePayloadFormat.JSON.messageClassOf(DummyMessagePayload.class))
+                .isEqualTo(DummyMessagePayload.class.getName());
+    }
+}
@@ -1,20 +1,27 @@
 package com.dilaverdemirel.spring.outbox.service.impl;
 
-import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
-import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
 import com.dilaverdemirel.spring.outbox.exception.OutboxMessageNotFoundException;
 import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRetryCount;
+import com.dilaverdemirel.spring.outbox.retry.OutboxMessageRetryBackoff;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -29,45 +36,44 @@ class FailedOutboxMessageServiceImplTest {
     @Mock
     private OutboxMessageRepository outboxMessageRepository;
 
+    @Mock
+    private OutboxMessageRetryBackoff outboxMessageRetryBackoff;
+
     @InjectMocks
     private FailedOutboxMessageServiceImpl failedOutboxMessageService;
 
     @Test
-    void testMarkAsFailed_it_should_set_status_as_FAILED_when_there_is_a_valid_outbox_message() {
+    void testMarkAsFailed_it_should_set_status_as_FAILED_without_loading_message_when_there_is_a_valid_outbox_message() {
         //Given
         final var id = "message-id";
         final var exception = "exception-message";
-        final var mockOutboxMessage = getOutboxMessage(1);
-        when(outboxMessageRepository.findById(id)).thenReturn(Optional.of(mockOutboxMessage));
+        when(outboxMessageRepository.findRetryCountById(id)).thenReturn(Optional.of(2));
+        final var nextAttemptAt = LocalDateTime.now().plusSeconds(1);
+        when(outboxMessageRetryBackoff.nextAttemptAt(eq(2), any(LocalDateTime.class))).thenReturn(nextAttemptAt);
 
         //When
-        failedOutboxMessageService.markAsFailedWithExceptionMessage(id, exception);
+        final var scheduledNextAttemptAt = failedOutboxMessageService.markAsFailedWithExceptionMessage(id, exception);
 
         //Then
-        final var savedMessageAC = ArgumentCaptor.forClass(OutboxMessage.class);
-        verify(outboxMessageRepository).save(savedMessageAC.capture());
-
-        assertThat(savedMessageAC.getValue().getStatus())
-                .isEqualTo(OutboxMessageStatus.FAILED);
-        assertThat(savedMessageAC.getValue().getStatusMessage())
-                .isEqualTo(exception);
-
-
-        verify(outboxMessageRepository).findById(id);
+        assertThat(scheduledNextAttemptAt).contains(nextAttemptAt);
+        verify(outboxMessageRepository).markAsFailed(id, exception, nextAttemptAt);
+        verify(outboxMessageRepository, never()).findById(any());
+        verify(outboxMessageRepository, never()).save(any());
     }
 
     @Test
     void testMarkAsFailed_it_should_throw_exception_when_there_is_no_a_valid_outbox_message() {
         //Given
         final var id = "message-id";
-        when(outboxMessageRepository.findById(id)).thenReturn(Optional.empty());
+        when(outboxMessageRepository.findRetryCountById(id)).thenReturn(Optional.empty());
 
         //For expected exception
         assertThrows(OutboxMessageNotFoundException.class, () -> failedOutboxMessageService
                 .markAsFailedWithExceptionMessage(id, "message"));
 
 
-        verify(outboxMessageRepository).findById(id);
+        verify(outboxMessageRepository).findRetryCountById(id);
+        verify(outboxMessageRepository, never()).markAsFailed(any(), any(), any());
     }
 
     @Test
@@ -82,14 +88,40 @@ class FailedOutboxMessageServiceImplTest {
         verifyNoInteractions(outboxMessageRepository);
     }
 
-    private OutboxMessage getOutboxMessage(int contentIndex) {
-        return OutboxMessage.builder()
-                .id("outbox-id")
-                .status(OutboxMessageStatus.FAILED)
-                .payload(String.format("{\"id\":\"content-id-%d\",\"name\":\"content-name-%d\"}", contentIndex, contentIndex))
-                .channel("channel-1")
-                .retryCount(-1)
-                .build();
+    @Test
+    void testMarkAllAsFailed_it_should_mark_messages_with_one_update_per_exception_message_and_retry_count() {
+        //Given
+        final var exceptionMessagesById = Map.of("message-1", "broker is down", "message-2", "broker is down",
+                "message-3", "broker is down", "message-4", "not found");
+        final var retryCounts = List.of(retryCount("message-1", 0), retryCount("message-2", 0), retryCount("message-3", 1));
+        when(outboxMessageRepository.findRetryCountsByIds(exceptionMessagesById.keySet())).thenReturn(retryCounts);
+        final var nextAttemptAt = LocalDateTime.now().plusSeconds(1);
+        when(outboxMessageRetryBackoff.nextAttemptAt(any(Integer.class), any(LocalDateTime.class))).thenReturn(nextAttemptAt);
+
+        //When
+        failedOutboxMessageService.markAllAsFailedWithExceptionMessages(exceptionMessagesById);
+
+        //Then
+        verify(outboxMessageRepository).markAllAsFailedWithoutRetry(List.of("message-1", "message-2"), "broker is down",
+                nextAttemptAt);
+        verify(outboxMessageRepository).markAllAsFailedWithoutRetry(List.of("message-3"), "broker is down", nextAttemptAt);
+        verify(outboxMessageRepository, never()).markAllAsFailedWithoutRetry(eq(List.of("message-4")), any(), any());
+        verify(outboxMessageRepository, never()).markAsFailed(any(), any(), any());
+    }
+
+    @Test
+    void testMarkAllAsFailed_it_should_do_nothing_when_there_is_no_message() {
+        //When
+        failedOutboxMessageService.markAllAsFailedWithExceptionMessages(Map.of());
+
+        //Then
+        verify(outboxMessageRepository, never()).findRetryCountsByIds(anyCollection());
     }
 
+    private static OutboxMessageRetryCount retryCount(String id, Integer retryCount) {
+        final var outboxMessageRetryCount = mock(OutboxMessageRetryCount.class);
+        when(outboxMessageRetryCount.getId()).thenReturn(id);
+        when(outboxMessageRetryCount.getRetryCount()).thenReturn(retryCount);
+        return outboxMessageRetryCount;
+    }
 }
@@ -1,9 +1,21 @@
 package com.dilaverdemirel.spring.outbox.service.impl;
 
+import com.dilaverdemirel.spring.outbox.circuitbreaker.OutboxMessageCircuitBreaker;
+import com.dilaverdemirel.spring.outbox.compression.OutboxMessagePayloadCompressor;
+import com.dilaverdemirel.spring.outbox.confirm.OutboxMessageSendConfirmations;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageOrderingKey;
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessageStatus;
 import com.dilaverdemirel.spring.outbox.dto.DummyMessagePayload;
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageEventMetaData;
+import com.dilaverdemirel.spring.outbox.dto.OutboxMessageRetentionResult;
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessageSendException;
+import com.dilaverdemirel.spring.outbox.metrics.OutboxMessageMetrics;
 import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import com.dilaverdemirel.spring.outbox.repository.OutboxMessageSequence;
+import com.dilaverdemirel.spring.outbox.retry.OutboxMessageRetryBackoff;
+import com.dilaverdemirel.spring.outbox.serializer.OutboxMessagePayloadFormat;
+import com.dilaverdemirel.spring.outbox.service.OutboxMessageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,25 +25,44 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.stream.function.StreamBridge;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.util.MimeTypeUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_ORDERING_KEY_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME;
 import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.QUERY_RESULT_PAGE_SIZE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -56,22 +87,49 @@ class OutboxMessagePublisherServiceImplTest {
     @Mock
     private StreamBridge streamBridge;
 
+    @Mock
+    private OutboxMessageService outboxMessageService;
+
+    @Mock
+    private OutboxMessagePayloadCompressor outboxMessagePayloadCompressor;
+
+    @Mock
+    private OutboxMessageMetrics outboxMessageMetrics;
+
+    @Mock
+    private OutboxMessageRetryBackoff outboxMessageRetryBackoff;
+
+    @Mock
+    private OutboxMessageCircuitBreaker outboxMessageCircuitBreaker;
+
+    @Mock
+    private OutboxMessageSendConfirmations outboxMessageSendConfirmations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private OutboxMessagePublisherServiceImpl outboxMessagePublisherService;
 
     @BeforeEach
     public void beforeEach() {
         outboxMessagePublisherService.retryCountThreshold = defaultRetryCountThreshold;
+        outboxMessagePublisherService.relayParallelism = 1;
+        outboxMessagePublisherService.notSentDelayInSeconds = 30;
+        outboxMessagePublisherService.orderingKey = OutboxMessageOrderingKey.SOURCE_ID;
+        outboxMessagePublisherService.afterPropertiesSet();
+        lenient().when(outboxMessagePayloadCompressor.decompress(any(String.class))).thenAnswer(returnsFirstArg());
+        lenient().when(outboxMessagePayloadCompressor.decompress(any(byte[].class))).thenAnswer(returnsFirstArg());
+        lenient().when(streamBridge.send(any(String.class), any(Message.class))).thenReturn(true);
     }
 
     @Test
-    void testPublishById_it_should_publish_event_when_id_is_valid() throws IOException {
+    void testPublishById_it_should_publish_event_and_mark_it_as_sent_without_saving_entity_when_id_is_valid() throws IOException {
         //Given
         final var id = "message-1";
 
         final var contentIndex = 1;
         final OutboxMessage mockOutboxMessage = getOutboxMessage(contentIndex);
-        final OutboxMessage outboxMessageForVerification = getOutboxMessage(contentIndex);
         final var messagePayload = DummyMessagePayload.builder().id("content-id-1").name("content-name-1").build();
 
         when(outboxMessageRepository.findById(id)).thenReturn(Optional.of(mockOutboxMessage));
@@ -91,13 +149,129 @@ class OutboxMessagePublisherServiceImplTest {
         final var messageIdHeader = eventArgumentCaptor.getValue().getHeaders().get(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME);
         assertThat(messageIdHeader).isEqualTo("outbox-id");
 
-        final var savedMessageArgumentCaptor = ArgumentCaptor.forClass(OutboxMessage.class);
-        verify(outboxMessageRepository).save(savedMessageArgumentCaptor.capture());
-        assertThat(savedMessageArgumentCaptor.getValue())
-                .isEqualToIgnoringGivenFields(outboxMessageForVerification, "status", "sentAt", "retryCount");
-        assertThat(savedMessageArgumentCaptor.getValue().getStatus()).isEqualTo(OutboxMessageStatus.SENT);
-        assertThat(savedMessageArgumentCaptor.getValue().getRetryCount()).isZero();
-        assertThat(savedMessageArgumentCaptor.getValue().getSentAt()).isNotNull();
+        verify(outboxMessageRepository).markAsSent(eq("outbox-id"), any(LocalDateTime.class));
+        verify(outboxMessageRepository, never()).save(any());
+    }
+
+    @Test
+    void testPublish_it_should_send_snapshot_without_reading_message_when_snapshot_publish_is_enabled() {
+        //Given
+        outboxMessagePublisherService.snapshotPublishEnabled = true;
+        final var outboxMessageEventMetaData = OutboxMessageEventMetaData.builder()
+                .messageId("message-1")
+                .channel("channel-1")
+                .payload("{\"id\":\"content-id-1\"}")
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(outboxMessageRepository.markAsSent(eq("message-1"), any(LocalDateTime.class))).thenReturn(1);
+
+        //When
+        outboxMessagePublisherService.publish(outboxMessageEventMetaData);
+
+        //Then
+        final var eventArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge).send(eq("channel-1"), eventArgumentCaptor.capture());
+        assertThat(eventArgumentCaptor.getValue().getPayload()).isEqualTo(outboxMessageEventMetaData.getPayload());
+        assertThat(eventArgumentCaptor.getValue().getHeaders().get(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME)).isEqualTo("message-1");
+
+        verify(outboxMessageRepository).markAsSent(eq("message-1"), any(LocalDateTime.class));
+        verify(outboxMessageRepository, never()).findById(any());
+        verify(outboxMessageRepository, never()).save(any());
+        verify(outboxMessageMetrics).recordCommitToSend(eq("channel-1"), any(Duration.class));
+    }
+
+    @Test
+    void testPublishById_it_should_not_mark_message_as_sent_when_binder_could_not_send_it() {
+        //Given
+        final var outboxMessage = getOutboxMessage(1);
+        when(outboxMessageRepository.findById(outboxMessage.getId())).thenReturn(Optional.of(outboxMessage));
+        when(streamBridge.send(eq("channel-1"), any(Message.class))).thenReturn(false);
+
+        //When
+        assertThrows(OutboxMessageSendException.class, () -> outboxMessagePublisherService.publishById(outboxMessage.getId()));
+
+        //Then
+        verify(outboxMessageRepository, never()).markAsSent(any(), any());
+        verify(outboxMessageMetrics).recordSend(eq("channel-1"), anyLong(), eq(false));
+    }
+
+    @Test
+    void testPublishById_it_should_send_binary_payload_with_json_content_type() {
+        //Given
+        final var outboxMessage = getOutboxMessage(1);
+        final var binaryPayload = outboxMessage.getPayload().getBytes(StandardCharsets.UTF_8);
+        outboxMessage.setPayload(null);
+        outboxMessage.setBinaryPayload(binaryPayload);
+        when(outboxMessageRepository.findById(outboxMessage.getId())).thenReturn(Optional.of(outboxMessage));
+
+        //When
+        outboxMessagePublisherService.publishById(outboxMessage.getId());
+
+        //Then
+        final var eventArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge).send(eq(outboxMessage.getChannel()), eventArgumentCaptor.capture());
+        assertThat(eventArgumentCaptor.getValue().getPayload()).isSameAs(binaryPayload);
+        assertThat(eventArgumentCaptor.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE))
+                .isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    @Test
+    void testPublishById_it_should_send_binary_payload_with_content_type_of_recorded_format() {
+        //Given
+        final var outboxMessage = getOutboxMessage(1);
+        final var binaryPayload = new byte[]{1, 2, 3};
+        outboxMessage.setPayload(null);
+        outboxMessage.setBinaryPayload(binaryPayload);
+        outboxMessage.setMessageClass(OutboxMessagePayloadFormat.PROTOBUF.messageClassOf(DummyMessagePayload.class));
+        when(outboxMessageRepository.findById(outboxMessage.getId())).thenReturn(Optional.of(outboxMessage));
+
+        //When
+        outboxMessagePublisherService.publishById(outboxMessage.getId());
+
+        //Then
+        final var eventArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge).send(eq(outboxMessage.getChannel()), eventArgumentCaptor.capture());
+        assertThat(eventArgumentCaptor.getValue().getPayload()).isSameAs(binaryPayload);
+        assertThat(eventArgumentCaptor.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE))
+                .isEqualTo(OutboxMessagePayloadFormat.PROTOBUF.getContentType());
+    }
+
+    @Test
+    void testPublish_it_should_read_message_by_id_when_snapshot_publish_is_disabled() {
+        //Given
+        final var outboxMessageEventMetaData = OutboxMessageEventMetaData.builder()
+                .messageId("message-1")
+                .channel("channel-1")
+                .payload("{}")
+                .build();
+        when(outboxMessageRepository.findById("message-1")).thenReturn(Optional.of(getOutboxMessage(1)));
+
+        //When
+        outboxMessagePublisherService.publish(outboxMessageEventMetaData);
+
+        //Then
+        verify(outboxMessageRepository).findById("message-1");
+        verify(streamBridge).send(eq("channel-1"), any(Message.class));
+        verify(outboxMessageRepository).markAsSent(eq("outbox-id"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testPublish_it_should_leave_message_for_relay_when_circuit_of_channel_is_open() {
+        //Given
+        final var outboxMessageEventMetaData = OutboxMessageEventMetaData.builder()
+                .messageId("message-1")
+                .channel("channel-1")
+                .payload("{}")
+                .build();
+        when(outboxMessageCircuitBreaker.isOpen("channel-1")).thenReturn(true);
+
+        //When
+        outboxMessagePublisherService.publish(outboxMessageEventMetaData);
+
+        //Then
+        verify(streamBridge, never()).send(any(), any(Message.class));
+        verify(outboxMessageRepository, never()).findById(any());
+        verify(outboxMessageRepository, never()).markAsSent(any(), any());
     }
 
     @Test
@@ -105,14 +279,14 @@ class OutboxMessagePublisherServiceImplTest {
         //Given
         final List<OutboxMessage> outboxMessages = getOutboxMessages();
 
-        final var outboxMessagePage = new PageImpl<>(outboxMessages);
-        when(outboxMessageRepository
-                .findByStatusAndRetryCountLessThanEqual(any(OutboxMessageStatus.class), any(Integer.class), any(Pageable.class)))
-                .thenReturn(outboxMessagePage)
-                .thenReturn(Page.empty());
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages));
 
-        when(outboxMessageRepository.findMessagesThatCouldNotBeSent(any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.emptyList()));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
 
         //When
         outboxMessagePublisherService.publishAllFailedMessages();
@@ -123,20 +297,17 @@ class OutboxMessagePublisherServiceImplTest {
         final var statusForFindArgumentCaptor = ArgumentCaptor.forClass(OutboxMessageStatus.class);
         final var retryCountThresholdAC = ArgumentCaptor.forClass(Integer.class);
         final var pageableForFindArgumentCaptor = ArgumentCaptor.forClass(Pageable.class);
-        verify(outboxMessageRepository, times(2))
-                .findByStatusAndRetryCountLessThanEqual(statusForFindArgumentCaptor.capture(), retryCountThresholdAC.capture(),
-                        pageableForFindArgumentCaptor.capture());
-        assertThat(statusForFindArgumentCaptor.getAllValues().get(0)).isEqualTo(OutboxMessageStatus.FAILED);
+        verify(outboxMessageRepository)
+                .findByStatusAndRetryCountLessThanEqualAfter(statusForFindArgumentCaptor.capture(), retryCountThresholdAC.capture(),
+                        any(LocalDateTime.class), any(LocalDateTime.class), eq(""), pageableForFindArgumentCaptor.capture());
+        assertThat(statusForFindArgumentCaptor.getValue()).isEqualTo(OutboxMessageStatus.FAILED);
         assertThat(retryCountThresholdAC.getValue()).isEqualTo(defaultRetryCountThreshold);
 
-        assertThat(pageableForFindArgumentCaptor.getAllValues().get(0))
+        assertThat(pageableForFindArgumentCaptor.getValue())
                 .isNotNull()
                 .hasFieldOrPropertyWithValue("pageSize", QUERY_RESULT_PAGE_SIZE)
                 .hasFieldOrPropertyWithValue("pageNumber", 0);
-
-        assertThat(pageableForFindArgumentCaptor.getValue().getSort())
-                .isNotNull()
-                .containsOnly(new Sort.Order(Sort.Direction.ASC, "createdAt"));
+        assertThat(pageableForFindArgumentCaptor.getValue().getSort().isUnsorted()).isTrue();
 
         //Send and save verification
         validateSentMessages(outboxMessages);
@@ -147,14 +318,14 @@ class OutboxMessagePublisherServiceImplTest {
         //Given
         final List<OutboxMessage> outboxMessages = getOutboxMessages();
 
-        final var outboxMessagePage = new PageImpl<>(outboxMessages);
-        when(outboxMessageRepository
-                .findByStatusAndRetryCountLessThanEqual(any(OutboxMessageStatus.class), any(Integer.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
 
-        when(outboxMessageRepository.findMessagesThatCouldNotBeSent(any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(outboxMessagePage)
-                .thenReturn(new PageImpl<>(Collections.emptyList()));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages));
 
         //When
         outboxMessagePublisherService.publishAllFailedMessages();
@@ -162,54 +333,357 @@ class OutboxMessagePublisherServiceImplTest {
         //Then
 
         //Find verification
-        final var statusForFindArgumentCaptor = ArgumentCaptor.forClass(OutboxMessageStatus.class);
-        final var retryCountThresholdAC = ArgumentCaptor.forClass(Integer.class);
+        final var delayStartArgumentCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
         final var pageableForFindArgumentCaptor = ArgumentCaptor.forClass(Pageable.class);
-        verify(outboxMessageRepository)
-                .findByStatusAndRetryCountLessThanEqual(statusForFindArgumentCaptor.capture(), retryCountThresholdAC.capture(),
-                        pageableForFindArgumentCaptor.capture());
-        assertThat(statusForFindArgumentCaptor.getAllValues().get(0)).isEqualTo(OutboxMessageStatus.FAILED);
-        assertThat(retryCountThresholdAC.getValue()).isEqualTo(defaultRetryCountThreshold);
+        verify(outboxMessageRepository).findMessagesThatCouldNotBeSentAfter(delayStartArgumentCaptor.capture(),
+                any(LocalDateTime.class), eq(""), pageableForFindArgumentCaptor.capture());
+        assertThat(delayStartArgumentCaptor.getValue()).isBefore(LocalDateTime.now().minusSeconds(29));
 
-        assertThat(pageableForFindArgumentCaptor.getAllValues().get(0))
+        assertThat(pageableForFindArgumentCaptor.getValue())
                 .isNotNull()
                 .hasFieldOrPropertyWithValue("pageSize", QUERY_RESULT_PAGE_SIZE)
                 .hasFieldOrPropertyWithValue("pageNumber", 0);
 
-        assertThat(pageableForFindArgumentCaptor.getValue().getSort())
-                .isNotNull()
-                .containsOnly(new Sort.Order(Sort.Direction.ASC, "createdAt"));
-
         //Send and save verification
         validateSentMessages(outboxMessages);
     }
 
+    @Test
+    void testPublishAllFailedMessages_it_should_continue_from_last_message_of_previous_slice_when_slice_has_next() {
+        //Given
+        final List<OutboxMessage> outboxMessages = getOutboxMessages();
+        final var lastOutboxMessage = outboxMessages.get(2);
+        final var nextOutboxMessage = getOutboxMessage(4);
+        nextOutboxMessage.setId("outbox-id-4");
+
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages, PageRequest.ofSize(3), true))
+                .thenReturn(new SliceImpl<>(List.of(nextOutboxMessage), PageRequest.ofSize(3), false));
+
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        //When
+        outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        final var createdAtArgumentCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        final var idArgumentCaptor = ArgumentCaptor.forClass(String.class);
+        verify(outboxMessageRepository, times(2)).findByStatusAndRetryCountLessThanEqualAfter(any(OutboxMessageStatus.class),
+                any(Integer.class), any(LocalDateTime.class), createdAtArgumentCaptor.capture(), idArgumentCaptor.capture(),
+                any(Pageable.class));
+        assertThat(idArgumentCaptor.getAllValues()).containsExactly("", lastOutboxMessage.getId());
+        assertThat(createdAtArgumentCaptor.getAllValues().get(1)).isEqualTo(lastOutboxMessage.getCreatedAt());
+
+        verify(streamBridge, times(4)).send(eq("channel-1"), any(Message.class));
+        verify(outboxMessageRepository, times(2)).markAllAsSent(any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testPublishAllFailedMessages_it_should_mark_sent_and_failed_messages_with_bulk_updates_when_some_sends_fail() {
+        //Given
+        final List<OutboxMessage> outboxMessages = getOutboxMessages();
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+        when(streamBridge.send(eq("channel-1"), any(Message.class)))
+                .thenReturn(true)
+                .thenThrow(new IllegalStateException("broker is down"))
+                .thenReturn(true);
+        final var nextAttemptAt = LocalDateTime.now().plusSeconds(1);
+        when(outboxMessageRetryBackoff.nextAttemptAt(eq(4), any(LocalDateTime.class))).thenReturn(nextAttemptAt);
+
+        //When
+        outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        final var sentIdsArgumentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxMessageRepository).markAllAsSent(sentIdsArgumentCaptor.capture(), any(LocalDateTime.class));
+        assertThat(sentIdsArgumentCaptor.getValue()).containsExactly("outbox-id-1", "outbox-id-3");
+
+        final var failedIdsArgumentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxMessageRepository).markAllAsFailed(failedIdsArgumentCaptor.capture(),
+                eq("java.lang.IllegalStateException: broker is down"), eq(nextAttemptAt));
+        assertThat(failedIdsArgumentCaptor.getValue()).containsExactly("outbox-id-2");
+        verify(outboxMessageRepository, never()).save(any());
+    }
+
+    @Test
+    void testPublishAllFailedMessages_it_should_send_sequenced_messages_only_after_their_unsent_predecessors() {
+        //Given
+        final var outboxMessages = getOutboxMessages();
+        outboxMessages.get(0).setOrderingKey("order-1");
+        outboxMessages.get(0).setSequenceNumber(2L);
+        outboxMessages.get(1).setOrderingKey("order-2");
+        outboxMessages.get(1).setSequenceNumber(5L);
+        outboxMessages.get(2).setOrderingKey("order-1");
+        outboxMessages.get(2).setSequenceNumber(3L);
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+        final var unsentSequences = List.of(sequence("order-1", 2L), sequence("order-1", 3L),
+                sequence("order-2", 4L), sequence("order-2", 5L));
+        when(outboxMessageRepository.findUnsentSequenceNumbers(Set.of("order-1", "order-2"))).thenReturn(unsentSequences);
+
+        //When
+        outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        final var sentMessagesArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge, times(2)).send(eq("channel-1"), sentMessagesArgumentCaptor.capture());
+        assertThat(sentMessagesArgumentCaptor.getAllValues())
+                .extracting(message -> message.getHeaders().get(OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME))
+                .containsExactly(2L, 3L);
+        assertThat(sentMessagesArgumentCaptor.getValue().getHeaders().get(OUTBOX_MESSAGE_ORDERING_KEY_HEADER_PARAMETER_NAME))
+                .isEqualTo("order-1");
+
+        final var sentIdsArgumentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxMessageRepository).markAllAsSent(sentIdsArgumentCaptor.capture(), any(LocalDateTime.class));
+        assertThat(sentIdsArgumentCaptor.getValue()).containsExactly("outbox-id-1", "outbox-id-3");
+        verify(outboxMessageRepository, never()).markAllAsFailed(any(), any(), any());
+    }
+
+    @Test
+    void testPublishAllFailedMessages_it_should_not_count_messages_which_are_held_back_by_dead_predecessor() {
+        //Given
+        final var heldBackMessages = new ArrayList<OutboxMessage>();
+        final var unsentSequences = new ArrayList<OutboxMessageSequence>();
+        unsentSequences.add(sequence("order-1", 1L));
+        for (long sequenceNumber = 2; sequenceNumber <= QUERY_RESULT_PAGE_SIZE + 1; sequenceNumber++) {
+            final var outboxMessage = getOutboxMessage(1);
+            outboxMessage.setId("outbox-id-" + sequenceNumber);
+            outboxMessage.setOrderingKey("order-1");
+            outboxMessage.setSequenceNumber(sequenceNumber);
+            heldBackMessages.add(outboxMessage);
+            unsentSequences.add(sequence("order-1", sequenceNumber));
+        }
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(heldBackMessages));
+        when(outboxMessageRepository.findUnsentSequenceNumbers(Set.of("order-1"))).thenReturn(unsentSequences);
+
+        //When
+        final var messageCount = outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        assertThat(messageCount).isZero();
+        verify(streamBridge, never()).send(any(String.class), any(Message.class));
+        verify(outboxMessageRepository, never()).markAllAsSent(any(), any());
+    }
+
+    @Test
+    void testPublishById_it_should_leave_message_for_relay_when_predecessor_is_not_sent() {
+        //Given
+        final var outboxMessage = getOutboxMessage(1);
+        outboxMessage.setOrderingKey("order-1");
+        outboxMessage.setSequenceNumber(2L);
+        when(outboxMessageRepository.findById("outbox-id")).thenReturn(Optional.of(outboxMessage));
+        when(outboxMessageRepository.existsByOrderingKeyAndSequenceNumberLessThanAndStatusNot("order-1", 2L,
+                OutboxMessageStatus.SENT)).thenReturn(true);
+
+        //When
+        outboxMessagePublisherService.publishById("outbox-id");
+
+        //Then
+        verify(streamBridge, never()).send(any(String.class), any(Message.class));
+        verify(outboxMessageRepository, never()).markAsSent(any(), any());
+    }
+
+    @Test
+    void testPublishAllFailedMessages_it_should_record_send_and_retry_metrics_by_channel() {
+        //Given
+        final List<OutboxMessage> outboxMessages = getOutboxMessages();
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+        when(streamBridge.send(eq("channel-1"), any(Message.class)))
+                .thenReturn(true)
+                .thenThrow(new IllegalStateException("broker is down"))
+                .thenReturn(true);
+
+        //When
+        outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        verify(outboxMessageMetrics, times(3)).recordRetry("channel-1");
+        verify(outboxMessageMetrics, times(2)).recordSend(eq("channel-1"), anyLong(), eq(true));
+        verify(outboxMessageMetrics).recordSend(eq("channel-1"), anyLong(), eq(false));
+        verify(outboxMessageMetrics, times(2)).recordCommitToSend(eq("channel-1"), any(Duration.class));
+    }
+
+    @Test
+    void testPublishAllFailedMessages_it_should_record_sends_on_circuit_breaker_by_channel() {
+        //Given
+        final List<OutboxMessage> outboxMessages = getOutboxMessages();
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+        when(streamBridge.send(eq("channel-1"), any(Message.class)))
+                .thenReturn(true)
+                .thenThrow(new IllegalStateException("broker is down"))
+                .thenReturn(true);
+
+        //When
+        outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        verify(outboxMessageCircuitBreaker, times(2)).recordSuccess("channel-1");
+        verify(outboxMessageCircuitBreaker).recordFailure("channel-1");
+    }
+
+    @Test
+    void testPublishAllFailedMessages_it_should_leave_messages_as_they_are_when_circuit_of_channel_is_open() {
+        //Given
+        final List<OutboxMessage> outboxMessages = getOutboxMessages();
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+        when(outboxMessageCircuitBreaker.isOpenForRelay("channel-1")).thenReturn(true);
+
+        //When
+        final var messageCount = outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        assertThat(messageCount).isZero();
+        verify(streamBridge, never()).send(any(), any(Message.class));
+        verify(outboxMessageRepository, never()).markAllAsSent(any(), any());
+        verify(outboxMessageRepository, never()).markAllAsFailed(any(), any(), any());
+    }
+
+    @Test
+    void testPublishAllFailedMessages_it_should_mark_messages_by_their_confirms_when_confirm_is_enabled() {
+        //Given
+        when(outboxMessageSendConfirmations.isEnabled()).thenReturn(true);
+        outboxMessagePublisherService.inFlightWindowSize = 10;
+        outboxMessagePublisherService.afterPropertiesSet();
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(getOutboxMessages()));
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+        when(outboxMessageSendConfirmations.register(any(String.class))).thenReturn(
+                CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new IllegalStateException("nacked")),
+                CompletableFuture.completedFuture(null));
+        final var nextAttemptAt = LocalDateTime.now().plusSeconds(1);
+        when(outboxMessageRetryBackoff.nextAttemptAt(eq(4), any(LocalDateTime.class))).thenReturn(nextAttemptAt);
+
+        //When
+        outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        final var messageArgumentCaptor = ArgumentCaptor.<Message<?>, Message>forClass(Message.class);
+        verify(streamBridge, times(3)).send(eq("channel-1"), messageArgumentCaptor.capture());
+        final var sendIdArgumentCaptor = ArgumentCaptor.forClass(String.class);
+        verify(outboxMessageSendConfirmations, times(3)).register(sendIdArgumentCaptor.capture());
+        assertThat(messageArgumentCaptor.getAllValues())
+                .extracting(message -> message.getHeaders().get(OUTBOX_MESSAGE_SEND_ID_HEADER_PARAMETER_NAME))
+                .containsExactlyElementsOf(sendIdArgumentCaptor.getAllValues())
+                .doesNotHaveDuplicates();
+
+        final var sentIdsArgumentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxMessageRepository).markAllAsSent(sentIdsArgumentCaptor.capture(), any(LocalDateTime.class));
+        assertThat(sentIdsArgumentCaptor.getValue()).containsExactly("outbox-id-1", "outbox-id-3");
+
+        final var failedIdsArgumentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxMessageRepository).markAllAsFailed(failedIdsArgumentCaptor.capture(),
+                eq("java.lang.IllegalStateException: nacked"), eq(nextAttemptAt));
+        assertThat(failedIdsArgumentCaptor.getValue()).containsExactly("outbox-id-2");
+        verify(outboxMessageCircuitBreaker).recordFailure("channel-1");
+    }
+
+    @Test
+    void testPublishAllFailedMessages_it_should_claim_and_publish_every_slice_in_own_transaction_when_claim_is_enabled() {
+        //Given
+        outboxMessagePublisherService.claimEnabled = true;
+        final List<OutboxMessage> outboxMessages = getOutboxMessages();
+
+        when(outboxMessageRepository.claimByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(outboxMessages));
+        when(outboxMessageRepository.claimMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        //When
+        outboxMessagePublisherService.publishAllFailedMessages();
+
+        //Then
+        final var transactionDefinitionAC = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(transactionDefinitionAC.capture());
+        assertThat(transactionDefinitionAC.getValue().getPropagationBehavior())
+                .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        verify(transactionManager, times(2)).commit(any());
+
+        verify(outboxMessageRepository, never()).findByStatusAndRetryCountLessThanEqualAfter(
+                any(), any(), any(), any(), any(), any());
+        verify(outboxMessageRepository, never()).findMessagesThatCouldNotBeSentAfter(any(), any(), any(), any());
+        validateSentMessages(outboxMessages);
+    }
+
     @Test
     void testMaintenanceToOutboxMessages_it_should_clear_old_messages() {
         //Given
         outboxMessagePublisherService.messageLifetimeInDays = 7;
-        final var outboxMessagePage = new PageImpl<OutboxMessage>(Collections.emptyList());
-        when(outboxMessageRepository
-                .findByStatusAndRetryCountLessThanEqual(any(OutboxMessageStatus.class), any(Integer.class), any(Pageable.class)))
-                .thenReturn(outboxMessagePage);
+        when(outboxMessageRepository.findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
 
-        when(outboxMessageRepository.findMessagesThatCouldNotBeSent(any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        when(outboxMessageRepository.findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
 
-        when(outboxMessageRepository.deleteOldOutboxMessages(any())).thenReturn(10);
+        when(outboxMessageService.deleteOldOutboxMessages(any()))
+                .thenReturn(OutboxMessageRetentionResult.builder().deletedMessageCount(10L).build());
 
         //When
         outboxMessagePublisherService.maintenanceToOutboxMessages();
 
         //Then
         //Find verification
-        verify(outboxMessageRepository).findByStatusAndRetryCountLessThanEqual(any(OutboxMessageStatus.class), any(Integer.class), any(Pageable.class));
-        verify(outboxMessageRepository).findMessagesThatCouldNotBeSent(any(LocalDateTime.class), any(Pageable.class));
+        verify(outboxMessageRepository).findByStatusAndRetryCountLessThanEqualAfter(
+                any(OutboxMessageStatus.class), any(Integer.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(String.class), any(Pageable.class));
+        verify(outboxMessageRepository).findMessagesThatCouldNotBeSentAfter(
+                any(LocalDateTime.class), any(LocalDateTime.class), any(String.class), any(Pageable.class));
 
         //Send and save verification
         verify(messageChannel, times(0)).send(any());
 
-        verify(outboxMessageRepository).deleteOldOutboxMessages(any());
+        final var inOrder = inOrder(transactionManager, outboxMessageService);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(outboxMessageService).deleteOldOutboxMessages(any());
     }
 
     private void validateSentMessages(List<OutboxMessage> outboxMessages) {
@@ -218,37 +692,43 @@ class OutboxMessagePublisherServiceImplTest {
         verify(streamBridge, times(3)).send(channelArgumentCaptor.capture(), sentMessagesArgumentCaptor.capture());
         final var sentMessagesArgumentCaptorAllValues = sentMessagesArgumentCaptor.getAllValues();
 
-        final var savedMessagesArgumentCaptor = ArgumentCaptor.forClass(OutboxMessage.class);
-        verify(outboxMessageRepository, times(3)).save(savedMessagesArgumentCaptor.capture());
-        final var savedMessagesArgumentCaptorAllValues = savedMessagesArgumentCaptor.getAllValues();
+        final var sentIdsArgumentCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxMessageRepository).markAllAsSent(sentIdsArgumentCaptor.capture(), any(LocalDateTime.class));
+        assertThat(sentIdsArgumentCaptor.getValue())
+                .containsExactlyElementsOf(outboxMessages.stream().map(OutboxMessage::getId).toList());
+        verify(outboxMessageRepository, never()).save(any());
+        verify(outboxMessageRepository, never()).markAllAsFailed(any(), any(), any());
 
         for (int i = 0; i < outboxMessages.size(); i++) {
             final var outboxMessageForVerification = outboxMessages.get(i);
             final var capturedSentMessage = sentMessagesArgumentCaptorAllValues.get(i);
-            final var capturedSavedOutboxMessage = savedMessagesArgumentCaptorAllValues.get(i);
 
             final var payloadString = (String) capturedSentMessage.getPayload();
             assertThat(payloadString).isEqualTo(outboxMessageForVerification.getPayload());
 
-            assertThat(capturedSavedOutboxMessage)
-                    .isEqualToIgnoringGivenFields(outboxMessageForVerification, "status", "sentAt", "retryCount");
-            assertThat(savedMessagesArgumentCaptor.getValue().getStatus()).isEqualTo(OutboxMessageStatus.SENT);
-            assertThat(savedMessagesArgumentCaptor.getValue().getRetryCount()).isEqualTo(4);
-            assertThat(savedMessagesArgumentCaptor.getValue().getSentAt()).isNotNull();
-
             final var messageIdHeader = capturedSentMessage.getHeaders().get(OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME);
-            assertThat(messageIdHeader).isEqualTo("outbox-id");
+            assertThat(messageIdHeader).isEqualTo(outboxMessageForVerification.getId());
 
             assertThat(channelArgumentCaptor.getAllValues().get(i)).isEqualTo(outboxMessageForVerification.getChannel());
         }
     }
 
+    private static OutboxMessageSequence sequence(String orderingKey, Long sequenceNumber) {
+        final var outboxMessageSequence = mock(OutboxMessageSequence.class);
+        when(outboxMessageSequence.getOrderingKey()).thenReturn(orderingKey);
+        when(outboxMessageSequence.getSequenceNumber()).thenReturn(sequenceNumber);
+        return outboxMessageSequence;
+    }
+
     private List<OutboxMessage> getOutboxMessages() {
         final var outboxMessage1 = getOutboxMessage(1);
+        outboxMessage1.setId("outbox-id-1");
         outboxMessage1.setRetryCount(3);
         final var outboxMessage2 = getOutboxMessage(2);
+        outboxMessage2.setId("outbox-id-2");
         outboxMessage2.setRetryCount(3);
         final var outboxMessage3 = getOutboxMessage(3);
+        outboxMessage3.setId("outbox-id-3");
         outboxMessage3.setRetryCount(3);
 
         return Arrays.asList(
@@ -263,7 +743,10 @@ class OutboxMessagePublisherServiceImplTest {
                 .status(OutboxMessageStatus.FAILED)
                 .payload(String.format("{\"id\":\"content-id-%d\",\"name\":\"content-name-%d\"}", contentIndex, contentIndex))
                 .channel("channel-1")
+                .source("source")
+                .sourceId("source-id-" + contentIndex)
                 .retryCount(-1)
+                .createdAt(LocalDateTime.of(2020, 5, 17, 0, 0).plusSeconds(contentIndex))
                 .build();
     }
 }
@@ -1,17 +1,25 @@
 package com.dilaverdemirel.spring.outbox.service.impl;
 
 import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.partition.OutboxMessagePartitionManager;
 import com.dilaverdemirel.spring.outbox.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,9 +33,22 @@ public class OutboxMessageServiceImplTest {
     @Mock
     private OutboxMessageRepository outboxMessageRepository;
 
+    @Mock
+    private OutboxMessagePartitionManager outboxMessagePartitionManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private OutboxMessageServiceImpl outboxMessageService;
 
+    @BeforeEach
+    public void beforeEach() {
+        outboxMessageService.retentionChunkSize = 2;
+        outboxMessageService.retentionPauseBetweenChunksInMillis = 0L;
+        outboxMessageService.retentionTimeBudgetInSeconds = 60L;
+    }
+
     @Test
     public void testGetById_it_should_get_and_return_outbox_message_by_id() {
         //Given
@@ -48,17 +69,74 @@ public class OutboxMessageServiceImplTest {
     }
 
     @Test
-    public void testDeleteOldOutboxMessages_it_should_delete_old_messages() {
+    public void testDeleteOldOutboxMessages_it_should_delete_old_messages_in_chunks() {
+        //Given
+        final var thresholdDate = LocalDateTime.now();
+        final var firstChunkIds = List.of("ID-001", "ID-002");
+        final var secondChunkIds = List.of("ID-003");
+        when(outboxMessageRepository.findOldOutboxMessageIds(thresholdDate, PageRequest.ofSize(2)))
+                .thenReturn(firstChunkIds, secondChunkIds);
+        when(outboxMessageRepository.deleteAllByIds(firstChunkIds)).thenReturn(2);
+        when(outboxMessageRepository.deleteAllByIds(secondChunkIds)).thenReturn(1);
+
+        //When
+        final var retentionResult = outboxMessageService.deleteOldOutboxMessages(thresholdDate);
+
+        //Then
+        assertThat(retentionResult.getDeletedMessageCount()).isEqualTo(3);
+        assertThat(retentionResult.getDroppedPartitionCount()).isZero();
+        verify(outboxMessageRepository, times(2)).findOldOutboxMessageIds(thresholdDate, PageRequest.ofSize(2));
+        verify(outboxMessageRepository).deleteAllByIds(firstChunkIds);
+        verify(outboxMessageRepository).deleteAllByIds(secondChunkIds);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    public void testDeleteOldOutboxMessages_it_should_stop_when_time_budget_is_exhausted() {
+        //Given
+        final var thresholdDate = LocalDateTime.now();
+        final var chunkIds = List.of("ID-001", "ID-002");
+        outboxMessageService.retentionTimeBudgetInSeconds = 0L;
+        when(outboxMessageRepository.findOldOutboxMessageIds(thresholdDate, PageRequest.ofSize(2))).thenReturn(chunkIds);
+        when(outboxMessageRepository.deleteAllByIds(chunkIds)).thenReturn(2);
+
+        //When
+        final var retentionResult = outboxMessageService.deleteOldOutboxMessages(thresholdDate);
+
+        //Then
+        assertThat(retentionResult.getDeletedMessageCount()).isEqualTo(2);
+        verify(outboxMessageRepository).deleteAllByIds(chunkIds);
+    }
+
+    @Test
+    public void testDeleteOldOutboxMessages_it_should_not_delete_when_there_is_no_old_message() {
+        //Given
+        final var thresholdDate = LocalDateTime.now();
+        when(outboxMessageRepository.findOldOutboxMessageIds(thresholdDate, PageRequest.ofSize(2))).thenReturn(List.of());
+
+        //When
+        final var retentionResult = outboxMessageService.deleteOldOutboxMessages(thresholdDate);
+
+        //Then
+        assertThat(retentionResult.getDeletedMessageCount()).isZero();
+        verify(outboxMessageRepository, never()).deleteAllByIds(any());
+    }
+
+    @Test
+    public void testDeleteOldOutboxMessages_it_should_drop_old_partitions_when_partition_drop_is_enabled() {
         //Given
         final var thresholdDate = LocalDateTime.now();
-        final var mockDeletedRecordCount = 100;
-        when(outboxMessageRepository.deleteOldOutboxMessages(thresholdDate)).thenReturn(mockDeletedRecordCount);
+        when(outboxMessagePartitionManager.isPartitionDropEnabled()).thenReturn(true);
+        when(outboxMessagePartitionManager.dropPartitionsOlderThan(thresholdDate)).thenReturn(3);
 
         //When
-        final var deletedRecordCount = outboxMessageService.deleteOldOutboxMessages(thresholdDate);
+        final var retentionResult = outboxMessageService.deleteOldOutboxMessages(thresholdDate);
 
         //Then
-        assertThat(deletedRecordCount).isEqualTo(mockDeletedRecordCount);
-        verify(outboxMessageRepository).deleteOldOutboxMessages(thresholdDate);
+        assertThat(retentionResult.getDroppedPartitionCount()).isEqualTo(3);
+        assertThat(retentionResult.getDeletedMessageCount()).isZero();
+        verify(outboxMessagePartitionManager).createFuturePartitions();
+        verify(outboxMessageRepository, never()).findOldOutboxMessageIds(any(), any());
+        verify(outboxMessageRepository, never()).deleteAllByIds(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,192 @@
+package com.dilaverdemirel.spring.outbox.service.impl;
+
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessage;
+import com.dilaverdemirel.spring.outbox.domain.OutboxMessageOrderingKey;
+import com.dilaverdemirel.spring.outbox.exception.OutboxMessageCircuitOpenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author dilaverdemirel
+ * @since 17.10.2026
+ */
+class PartitionedOutboxMessageSenderTest {
+
+    private PartitionedOutboxMessageSender partitionedOutboxMessageSender;
+
+    @AfterEach
+    public void afterEach() {
+        partitionedOutboxMessageSender.shutdown();
+    }
+
+    @Test
+    void testSendAll_it_should_send_messages_of_same_key_in_order_on_same_thread_when_there_are_many_lanes() {
+        //Given
+        partitionedOutboxMessageSender = new PartitionedOutboxMessageSender(4);
+        final var outboxMessages = new ArrayList<OutboxMessage>();
+        for (int i = 0; i < 100; i++) {
+            outboxMessages.add(getOutboxMessage("message-" + i, "source-id-" + (i % 10)));
+        }
+        final var sentIdsByKey = new ConcurrentHashMap<String, List<String>>();
+        final var threadNamesByKey = new ConcurrentHashMap<String, List<String>>();
+
+        //When
+        final var sendResult = partitionedOutboxMessageSender.sendAll(outboxMessages, OutboxMessageOrderingKey.SOURCE_ID::of,
+                outboxMessage -> {
+                    final var key = outboxMessage.getSourceId();
+                    sentIdsByKey.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(outboxMessage.getId());
+                    threadNamesByKey.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(Thread.currentThread().getName());
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        //Then
+        assertThat(sendResult.getSentIds()).hasSize(100);
+        assertThat(sendResult.getFailedCount()).isZero();
+        for (int key = 0; key < 10; key++) {
+            final var expectedIds = new ArrayList<String>();
+            for (int i = key; i < 100; i += 10) {
+                expectedIds.add("message-" + i);
+            }
+            assertThat(sentIdsByKey.get("source-id-" + key)).containsExactlyElementsOf(expectedIds);
+            assertThat(threadNamesByKey.get("source-id-" + key)).containsOnly(threadNamesByKey.get("source-id-" + key).get(0))
+                    .allMatch(threadName -> threadName.startsWith("outbox-relay-"));
+        }
+    }
+
+    @Test
+    void testSendAll_it_should_skip_following_messages_of_failed_key_and_continue_other_keys() {
+        //Given
+        partitionedOutboxMessageSender = new PartitionedOutboxMessageSender(1);
+        final var outboxMessages = List.of(
+                getOutboxMessage("message-1", "source-id-1"),
+                getOutboxMessage("message-2", "source-id-2"),
+                getOutboxMessage("message-3", "source-id-1"),
+                getOutboxMessage("message-4", "source-id-2"));
+
+        //When
+        final var sendResult = partitionedOutboxMessageSender.sendAll(outboxMessages, OutboxMessageOrderingKey.SOURCE_ID::of,
+                outboxMessage -> {
+                    if (outboxMessage.getId().equals("message-1")) {
+                        throw new IllegalStateException("broker is down");
+                    }
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        //Then
+        assertThat(sendResult.getSentIds()).containsExactly("message-2", "message-4");
+        assertThat(sendResult.getFailedIdsByStatusMessage())
+                .containsOnlyKeys("java.lang.IllegalStateException: broker is down");
+        assertThat(sendResult.getFailedIdsByStatusMessage().get("java.lang.IllegalStateException: broker is down"))
+                .containsExactly("message-1");
+        assertThat(sendResult.getSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testSendAll_it_should_skip_messages_without_failing_them_when_circuit_is_open() {
+        //Given
+        partitionedOutboxMessageSender = new PartitionedOutboxMessageSender(1);
+        final var outboxMessages = List.of(
+                getOutboxMessage("message-1", "source-id-1"),
+                getOutboxMessage("message-2", "source-id-2"),
+                getOutboxMessage("message-3", "source-id-1"));
+
+        //When
+        final var sendResult = partitionedOutboxMessageSender.sendAll(outboxMessages, OutboxMessageOrderingKey.SOURCE_ID::of,
+                outboxMessage -> {
+                    if (outboxMessage.getSourceId().equals("source-id-1")) {
+                        throw new OutboxMessageCircuitOpenException("Circuit of channel-1 is open");
+                    }
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        //Then
+        assertThat(sendResult.getSentIds()).containsExactly("message-2");
+        assertThat(sendResult.getFailedCount()).isZero();
+        assertThat(sendResult.getSkippedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testSendAll_it_should_keep_sends_in_flight_up_to_window_size_and_fail_unconfirmed_sends() {
+        //Given
+        partitionedOutboxMessageSender = new PartitionedOutboxMessageSender(1, 2);
+        final var outboxMessages = List.of(
+                getOutboxMessage("message-1", "source-id-1"),
+                getOutboxMessage("message-2", "source-id-2"),
+                getOutboxMessage("message-3", "source-id-3"),
+                getOutboxMessage("message-4", "source-id-2"));
+        final var confirmations = new ArrayList<CompletableFuture<Void>>();
+        final var maxInFlightCount = new int[1];
+
+        //When
+        final var sendResult = partitionedOutboxMessageSender.sendAll(outboxMessages, OutboxMessageOrderingKey.SOURCE_ID::of,
+                outboxMessage -> {
+                    final var inFlightCount = confirmations.stream().filter(confirmation -> !confirmation.isDone()).count() + 1;
+                    maxInFlightCount[0] = Math.max(maxInFlightCount[0], (int) inFlightCount);
+                    final var confirmation = new CompletableFuture<Void>();
+                    confirmations.add(confirmation);
+                    if (outboxMessage.getId().equals("message-2")) {
+                        confirmations.get(0).complete(null);
+                        confirmation.completeExceptionally(new IllegalStateException("nacked"));
+                    }
+                    if (outboxMessage.getId().equals("message-3")) {
+                        confirmation.complete(null);
+                    }
+                    return confirmation;
+                });
+
+        //Then
+        assertThat(maxInFlightCount[0]).isEqualTo(2);
+        assertThat(sendResult.getSentIds()).containsExactly("message-1", "message-3");
+        assertThat(sendResult.getFailedIdsByStatusMessage().get("java.lang.IllegalStateException: nacked"))
+                .containsExactly("message-2");
+        assertThat(sendResult.getSkippedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testSendAll_it_should_not_send_next_message_of_key_before_previous_one_is_confirmed() {
+        //Given
+        partitionedOutboxMessageSender = new PartitionedOutboxMessageSender(1, 3);
+        final var outboxMessages = List.of(
+                getOutboxMessage("message-1", "source-id-1"),
+                getOutboxMessage("message-2", "source-id-2"),
+                getOutboxMessage("message-3", "source-id-1"));
+        final var sentIds = new ArrayList<String>();
+
+        //When
+        final var sendResult = partitionedOutboxMessageSender.sendAll(outboxMessages, OutboxMessageOrderingKey.SOURCE_ID::of,
+                outboxMessage -> {
+                    sentIds.add(outboxMessage.getId());
+                    if (outboxMessage.getId().equals("message-1")) {
+                        return CompletableFuture.runAsync(() -> {
+                            throw new IllegalStateException("nacked");
+                        }, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+                    }
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        //Then
+        assertThat(sentIds).containsExactly("message-1", "message-2");
+        assertThat(sendResult.getSentIds()).containsExactly("message-2");
+        assertThat(sendResult.getFailedCount()).isEqualTo(1);
+        assertThat(sendResult.getSkippedCount()).isEqualTo(1);
+    }
+
+    private OutboxMessage getOutboxMessage(String id, String sourceId) {
+        return OutboxMessage.builder()
+                .id(id)
+                .source("source")
+                .sourceId(sourceId)
+                .channel("channel-1")
+                .build();
+    }
+}
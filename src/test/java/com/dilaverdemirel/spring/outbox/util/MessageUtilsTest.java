@@ -8,6 +8,7 @@ import java.util.Map;
 
 import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_EXCEPTION_HEADER_PARAMETER_NAME;
 import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_ID_HEADER_PARAMETER_NAME;
+import static com.dilaverdemirel.spring.outbox.service.OutboxMessagePublisherService.OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -63,4 +64,18 @@ public class MessageUtilsTest {
         //Then
         assertNull(extractedMessageId);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testExtractSequenceNumber_it_should_return_sequence_number_when_header_is_a_number_or_a_text() {
+        //When
+        final var numberSequenceNumber = MessageUtils
+                .extractSequenceNumber(Map.of(OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME, 7));
+        final var textSequenceNumber = MessageUtils
+                .extractSequenceNumber(Map.of(OUTBOX_MESSAGE_SEQUENCE_NUMBER_HEADER_PARAMETER_NAME, "8"));
+
+        //Then
+        assertEquals(7L, numberSequenceNumber);
+        assertEquals(8L, textSequenceNumber);
+        assertNull(MessageUtils.extractSequenceNumber(Map.of()));
+    }
+}